@@ -0,0 +1,293 @@
+package com.example.ballgame;
+
+// Bewegung des Balls im Labyrinth, unabhängig von Android, damit sie auch auf der JVM getestet werden kann.
+// Positionen sind in Pixeln des Labyrinths (Kachel x liegt bei x * tileSize). Ein Schritt legt keine Objekte an.
+//
+// Die Neigung beschleunigt den Ball, Reibung bremst ihn. Jeder Schritt wird in SUBSTEPS Teilschritte zerlegt
+// (bei 120 Hz Spielschleife also 240 Hz). Kollisionen werden als Kreis gegen die Wandkacheln (AABB) geprüft:
+// Der Ball wird entlang der Normale aus der Wand geschoben und verliert nur die Geschwindigkeit in Richtung der
+// Wand, daher gleitet er an Wänden entlang. Die Bewegung wird so fein unterteilt, dass sie pro Prüfung kleiner als
+// der halbe Radius bleibt (Sweep in Teilstrecken); da Wände mindestens eine Kachel dick sind, kann der Ball
+// auch bei starker Neigung nicht durch Ecken tunneln.
+// Vor der genauen Prüfung fragt der Ball das Abstandsfeld (WallDistanceField) ab: Liegt die nächste Wand sicher
+// weiter weg als der Radius, reicht ein Arrayzugriff und ein Vergleich. Das trifft mitten in den Gängen zu;
+// nur in Wandnähe werden die Nachbarkacheln geprüft. Das Ergebnis ist in beiden Fällen dasselbe.
+public class BallPhysics {
+    // Ergebnis eines Schritts
+    public static final int NONE = 0;
+    public static final int GOAL = 1;
+    public static final int HOLE = 2;
+
+    public static final int SUBSTEPS = 2;
+    // Werte in Kacheln, damit sich der Ball auf jeder Kachelgröße gleich anfühlt
+    private static final float ACCELERATION = 1.6f; // Kacheln/s² pro m/s² Neigung
+    private static final float FRICTION = 1.8f; // Anteil der Geschwindigkeit, der pro Sekunde verloren geht
+    private static final float MAX_SPEED = 12f; // Kacheln/s
+    private static final float RADIUS = 1f / 3f; // Radius in Kacheln, wie der gezeichnete Ball
+    private static final float SKIN = 0.001f; // Zusätzlicher Abstand in Pixeln gegen Rundungsfehler beim Herausschieben
+
+    private MazeGrid maze;
+    private int tileSize;
+    private float radius;
+    private float x, y;
+    private float vx, vy; // Pixel pro Sekunde
+    private float previousX, previousY; // Position vor dem letzten Schritt (für die Interpolation beim Zeichnen)
+    private final WallDistanceField distanceField = new WallDistanceField();
+    private float samplesPerPixel; // Teilfelder des Abstandsfelds pro Pixel
+    private int clearance; // Mindestwert im Abstandsfeld, ab dem keine Wand in Reichweite ist
+
+    public BallPhysics(MazeGrid maze, int tileSize) {
+        setMaze(maze, tileSize);
+    }
+
+    // Neues Labyrinth (z.B. nach einem Loch oder Levelwechsel); die Position bleibt unverändert.
+    // Auch nach einer Änderung des Labyrinths in den vorhandenen Puffern aufrufen, damit das Abstandsfeld passt.
+    public void setMaze(MazeGrid maze, int tileSize) {
+        setMaze(maze, tileSize, 0, 0, maze.getWidth(), maze.getHeight());
+    }
+
+    // Wie oben, das Abstandsfeld aber nur für den Bereich, in dem sich der Ball aufhalten kann (Kacheln).
+    // Außerhalb wird immer genau geprüft. Spart Zeit bei großen Labyrinthen, die oft neu übernommen werden.
+    public void setMaze(MazeGrid maze, int tileSize, int tileX, int tileY, int tileColumns, int tileRows) {
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("Ungültige Kachelgröße: " + tileSize);
+        }
+        this.maze = maze;
+        this.tileSize = tileSize;
+        this.radius = Math.max(1, (int) (tileSize * RADIUS));
+        distanceField.build(maze, tileX, tileY, tileColumns, tileRows);
+        samplesPerPixel = (float) WallDistanceField.SAMPLES_PER_TILE / tileSize;
+        clearance = WallDistanceField.clearanceFor(radius / tileSize);
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public float getRadius() {
+        return radius;
+    }
+
+    // Setzt den Ball ruhend in die Mitte der Kachel, ohne Interpolation zur alten Position
+    public void reset(int tileX, int tileY) {
+        x = tileX * tileSize + tileSize / 2;
+        y = tileY * tileSize + tileSize / 2;
+        vx = 0;
+        vy = 0;
+        previousX = x;
+        previousY = y;
+    }
+
+    // Verschiebt Ball und Interpolation (die Geschwindigkeit bleibt), wenn sich der Ursprung des Labyrinths verschiebt
+    // (Ausschnitt der Welt im Endlos-Modus)
+    public void translate(float dx, float dy) {
+        x += dx;
+        y += dy;
+        previousX += dx;
+        previousY += dy;
+    }
+
+    // Merkt sich die aktuelle Position als Ausgangspunkt der Interpolation; vor jedem Zeitschritt aufrufen
+    public void storePreviousPosition() {
+        previousX = x;
+        previousY = y;
+    }
+
+    // Simuliert "seconds" Sekunden mit der Neigung (Beschleunigungssensor, m/s²) und meldet Ziel oder Loch
+    public int step(float tiltX, float tiltY, float seconds) {
+        float dt = seconds / SUBSTEPS;
+        float acceleration = ACCELERATION * tileSize;
+        float maxSpeed = MAX_SPEED * tileSize;
+        float damping = Math.max(0f, 1f - FRICTION * dt);
+
+        for (int i = 0; i < SUBSTEPS; i++) {
+            // Semi-implizites Euler-Verfahren: erst die Geschwindigkeit, dann die Position
+            vx = (vx - tiltX * acceleration * dt) * damping;
+            vy = (vy + tiltY * acceleration * dt) * damping;
+            float speed = (float) Math.sqrt(vx * vx + vy * vy);
+            if (speed > maxSpeed) {
+                vx *= maxSpeed / speed;
+                vy *= maxSpeed / speed;
+            }
+            move(vx * dt, vy * dt);
+
+            int tile = tileAt(x, y);
+            if (tile == MazeGenerator.GOAL) {
+                return GOAL;
+            }
+            if (tile == MazeGenerator.HOLE) {
+                return HOLE;
+            }
+        }
+        return NONE;
+    }
+
+    // Bewegt den Ball in Teilstrecken von höchstens einem halben Radius und löst nach jeder die Kollisionen auf
+    private void move(float dx, float dy) {
+        float distance = Math.max(Math.abs(dx), Math.abs(dy));
+        int parts = Math.max(1, (int) Math.ceil(distance / (radius * 0.5f)));
+        float partX = dx / parts;
+        float partY = dy / parts;
+        for (int i = 0; i < parts; i++) {
+            x += partX;
+            y += partY;
+            if (!isClear(x, y)) {
+                resolveCollisions();
+            }
+        }
+    }
+
+    // Schnelle Abfrage über das Abstandsfeld: true, wenn der Kreis um (px, py) sicher keine Wand berührt.
+    // false heißt nur "vielleicht", dann entscheidet die genaue Prüfung.
+    private boolean isClear(float px, float py) {
+        int sampleX = (int) (px * samplesPerPixel) - distanceField.getOriginX();
+        int sampleY = (int) (py * samplesPerPixel) - distanceField.getOriginY();
+        if (px < 0 || py < 0 || sampleX < 0 || sampleY < 0 || sampleX >= distanceField.getColumns() || sampleY >= distanceField.getRows()) {
+            return false;
+        }
+        return distanceField.get(sampleY * distanceField.getColumns() + sampleX) >= clearance;
+    }
+
+    // Schiebt den Ball aus allen Wandkacheln, die er überlappt, und entfernt die Geschwindigkeit in die Wand hinein
+    private void resolveCollisions() {
+        int minX = (int) Math.floor((x - radius) / tileSize);
+        int maxX = (int) Math.floor((x + radius) / tileSize);
+        int minY = (int) Math.floor((y - radius) / tileSize);
+        int maxY = (int) Math.floor((y + radius) / tileSize);
+        for (int ty = minY; ty <= maxY; ty++) {
+            for (int tx = minX; tx <= maxX; tx++) {
+                if (isSolid(tx, ty)) {
+                    pushOut(tx, ty);
+                }
+            }
+        }
+    }
+
+    private void pushOut(int tileX, int tileY) {
+        float left = tileX * tileSize, top = tileY * tileSize, right = left + tileSize, bottom = top + tileSize;
+        // Nächster Punkt der Kachel zum Mittelpunkt
+        float closestX = Math.max(left, Math.min(x, right));
+        float closestY = Math.max(top, Math.min(y, bottom));
+        float deltaX = x - closestX;
+        float deltaY = y - closestY;
+        // Liegt in Richtung des Balls eine weitere Wandkachel daneben, ist die Ecke nur die Fuge einer durchgehenden
+        // Wand. Ihre schräge Normale würde den Ball an der Fuge bremsen oder anstoßen; die Fläche der Nachbarkachel
+        // schiebt ihn ohnehin hinaus.
+        boolean seamX = deltaX != 0f && isSolid(deltaX > 0f ? tileX + 1 : tileX - 1, tileY);
+        boolean seamY = deltaY != 0f && isSolid(tileX, deltaY > 0f ? tileY + 1 : tileY - 1);
+        if (seamX && seamY) {
+            return; // Innenecke, beide Nachbarflächen sind näher
+        }
+        if (seamX && deltaY != 0f) {
+            deltaX = 0f;
+        }
+        if (seamY && deltaX != 0f) {
+            deltaY = 0f;
+        }
+        float distanceSquared = deltaX * deltaX + deltaY * deltaY;
+        if (distanceSquared >= radius * radius) {
+            return;
+        }
+
+        float normalX, normalY, depth;
+        if (distanceSquared > 0f) {
+            float distance = (float) Math.sqrt(distanceSquared);
+            normalX = deltaX / distance;
+            normalY = deltaY / distance;
+            depth = radius - distance;
+        } else {
+            // Mittelpunkt in der Kachel: auf kürzestem Weg entlang einer Achse hinaus
+            float pushLeft = x - left, pushRight = right - x, pushUp = y - top, pushDown = bottom - y;
+            float minHorizontal = Math.min(pushLeft, pushRight);
+            float minVertical = Math.min(pushUp, pushDown);
+            if (minHorizontal < minVertical) {
+                normalX = (pushLeft < pushRight) ? -1f : 1f;
+                normalY = 0f;
+                depth = minHorizontal + radius;
+            } else {
+                normalX = 0f;
+                normalY = (pushUp < pushDown) ? -1f : 1f;
+                depth = minVertical + radius;
+            }
+        }
+        x += normalX * (depth + SKIN);
+        y += normalY * (depth + SKIN);
+
+        // Nur die Geschwindigkeit in die Wand hinein entfernen, die tangentiale bleibt (Gleiten)
+        float intoWall = vx * normalX + vy * normalY;
+        if (intoWall < 0f) {
+            vx -= intoWall * normalX;
+            vy -= intoWall * normalY;
+        }
+    }
+
+    // Wände und alles außerhalb des spielbaren Bereichs (Randwände, letzte Zeile und Spalte)
+    private boolean isSolid(int tileX, int tileY) {
+        if (tileX < 1 || tileX >= maze.getWidth() - 1 || tileY < 1 || tileY >= maze.getHeight() - 1) {
+            return true;
+        }
+        return maze.get(tileX, tileY) == MazeGenerator.WALL;
+    }
+
+    // Kann der Ball mit seinem Mittelpunkt an (newX, newY) liegen, ohne eine Wand zu überlappen?
+    public boolean canMoveTo(float newX, float newY) {
+        if (isClear(newX, newY)) {
+            return true;
+        }
+        int minX = (int) Math.floor((newX - radius) / tileSize);
+        int maxX = (int) Math.floor((newX + radius) / tileSize);
+        int minY = (int) Math.floor((newY - radius) / tileSize);
+        int maxY = (int) Math.floor((newY + radius) / tileSize);
+        for (int ty = minY; ty <= maxY; ty++) {
+            for (int tx = minX; tx <= maxX; tx++) {
+                if (!isSolid(tx, ty)) {
+                    continue;
+                }
+                float closestX = Math.max(tx * tileSize, Math.min(newX, (tx + 1) * tileSize));
+                float closestY = Math.max(ty * tileSize, Math.min(newY, (ty + 1) * tileSize));
+                float deltaX = newX - closestX, deltaY = newY - closestY;
+                if (deltaX * deltaX + deltaY * deltaY < radius * radius) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public boolean isAtGoal() {
+        return tileAt(x, y) == MazeGenerator.GOAL;
+    }
+
+    public boolean isAtHole() {
+        return tileAt(x, y) == MazeGenerator.HOLE;
+    }
+
+    private int tileAt(float px, float py) {
+        return maze.get((int) (px / tileSize), (int) (py / tileSize));
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public float getY() {
+        return y;
+    }
+
+    public float getVelocityX() {
+        return vx;
+    }
+
+    public float getVelocityY() {
+        return vy;
+    }
+
+    // Position zwischen dem letzten und dem aktuellen Schritt (alpha von 0 bis 1)
+    public float interpolateX(float alpha) {
+        return previousX + (x - previousX) * alpha;
+    }
+
+    public float interpolateY(float alpha) {
+        return previousY + (y - previousY) * alpha;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.ballgame;
+
+import java.util.Random;
+
+// Menge von Zellindizes (siehe MazeGrid.index) mit Einfügen, Entfernen und zufälliger Auswahl in O(1).
+// Die Zellen liegen dicht gepackt in einem Array; ein zweites Array merkt sich die Position jeder Zelle,
+// damit beim Entfernen die letzte Zelle in die Lücke verschoben werden kann.
+public class CellIndex {
+    private final int[] cells; // Enthaltene Zellen, dicht gepackt
+    private final int[] slots; // Position jeder Zelle in "cells", -1 wenn nicht enthalten
+    private int size;
+
+    public CellIndex(int capacity) {
+        cells = new int[capacity];
+        slots = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = -1;
+        }
+    }
+
+    public int capacity() {
+        return cells.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int cell) {
+        return slots[cell] >= 0;
+    }
+
+    // Zelle an Position i (0 <= i < size)
+    public int get(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Position außerhalb des Index: " + i);
+        }
+        return cells[i];
+    }
+
+    public void add(int cell) {
+        if (slots[cell] >= 0) {
+            return;
+        }
+        slots[cell] = size;
+        cells[size++] = cell;
+    }
+
+    public boolean remove(int cell) {
+        int slot = slots[cell];
+        if (slot < 0) {
+            return false;
+        }
+        // Letzte Zelle in die Lücke verschieben
+        int last = cells[--size];
+        cells[slot] = last;
+        slots[last] = slot;
+        slots[cell] = -1;
+        return true;
+    }
+
+    // Gleichverteilt zufällig gewählte Zelle
+    public int random(Random random) {
+        if (size == 0) {
+            throw new IllegalStateException("Index ist leer");
+        }
+        return cells[random.nextInt(size)];
+    }
+
+    // Entfernt alle Zellen; kostet nur so viel wie Zellen enthalten sind
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            slots[cells[i]] = -1;
+        }
+        size = 0;
+    }
+}
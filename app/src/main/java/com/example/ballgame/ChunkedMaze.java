@@ -0,0 +1,257 @@
+package com.example.ballgame;
+
+import java.util.Random;
+
+// Endlose Welt aus gleich großen Chunks für den Endlos-Modus (GameEngine.MODE_ENDLESS).
+// Jeder Chunk wird allein aus (worldSeed, chunkX, chunkY) erzeugt und kann daher jederzeit verworfen und
+// später identisch neu erzeugt werden. Die Chunks liegen in einem LRU-Cache mit fester Größe, sodass
+// Speicher und Erzeugungskosten unabhängig davon bleiben, wie weit sich der Ball bewegt.
+// Der Cache ist klein (DEFAULT_CACHE_CHUNKS), daher reicht eine lineare Suche über primitive Schlüssel;
+// eine Map bräuchte pro Abfrage ein Long-Objekt.
+//
+// Layout wie MazeGenerator: 2x2 breite Pfade im Abstand von 4 Zellen. Innerhalb eines Chunks ist das
+// Labyrinth ein Spannbaum; er wird Zeile für Zeile mit EllerMazeGenerator direkt in das Raster des Chunks
+// geschrieben. Die Durchgänge an den Chunkgrenzen werden aus dem Seed der gemeinsamen Kante bestimmt, daher sehen
+// beide Nachbarn dieselben Öffnungen und die Gänge laufen über die Grenze weiter.
+public class ChunkedMaze {
+    public static final int CHUNK_CELLS = 8; // Gitterzellen pro Chunk-Seite
+    public static final int CHUNK_SIZE = CHUNK_CELLS * 4; // Rasterzellen pro Chunk-Seite
+    public static final int DEFAULT_CACHE_CHUNKS = 32;
+
+    private static final int EAST = 1, SOUTH = 2; // Kennungen für die Seeds der Kanten
+    private static final int MAX_EDGE_OPENINGS = 2; // Durchgänge pro Chunkkante (mindestens einer)
+
+    private final long worldSeed;
+    private final int holesPerChunk;
+    private final int cacheChunks;
+    // Cache: Schlüssel, Raster und Zeitpunkt des letzten Zugriffs (Zähler) je Platz, belegt sind die ersten chunkCount
+    private final long[] keys;
+    private final MazeGrid[] chunks;
+    private final long[] lastUsed;
+    private int chunkCount;
+    private long accessClock;
+    private final Random random = new Random();
+
+    // Wiederverwendete Puffer für die Erzeugung eines Chunks. Eller erzeugt (CHUNK_SIZE - 1) x (CHUNK_SIZE - 1)
+    // Zellen mit Randwand oben und links; die letzte Spalte und Zeile bleiben Wand bis auf die Durchgänge.
+    // Löcher setzt addHoles, damit ihre Anzahl pro Chunk fest ist.
+    private final EllerMazeGenerator eller = new EllerMazeGenerator(CHUNK_SIZE - 2, 0f, 0L);
+    private final CellIndex holeCandidates = new CellIndex(CHUNK_SIZE * CHUNK_SIZE);
+    private MazeGrid target; // Chunk, in den rowWriter gerade schreibt
+    private final EllerMazeGenerator.RowConsumer rowWriter = new EllerMazeGenerator.RowConsumer() {
+        @Override
+        public void onRow(int y, byte[] row) {
+            for (int x = 0; x < row.length; x++) {
+                target.set(x, y, row[x]);
+            }
+        }
+    };
+
+    // Zuletzt verwendeter Chunk, spart die Map-Abfrage bei aufeinanderfolgenden Zugriffen
+    private int lastChunkX, lastChunkY;
+    private MazeGrid lastChunk;
+
+    private long hits, misses, evictions;
+
+    public ChunkedMaze(long worldSeed, int holesPerChunk) {
+        this(worldSeed, holesPerChunk, DEFAULT_CACHE_CHUNKS);
+    }
+
+    public ChunkedMaze(long worldSeed, int holesPerChunk, int cacheChunks) {
+        if (cacheChunks < 1) {
+            throw new IllegalArgumentException("Cache muss mindestens einen Chunk fassen: " + cacheChunks);
+        }
+        this.worldSeed = worldSeed;
+        this.holesPerChunk = holesPerChunk;
+        this.cacheChunks = cacheChunks;
+        this.keys = new long[cacheChunks];
+        this.chunks = new MazeGrid[cacheChunks];
+        this.lastUsed = new long[cacheChunks];
+    }
+
+    public long getWorldSeed() {
+        return worldSeed;
+    }
+
+    // Startpunkt der Welt: die erste Gitterzelle des Chunks (0, 0) ist immer ein Pfad
+    public int getSpawnX() {
+        return 1;
+    }
+
+    public int getSpawnY() {
+        return 1;
+    }
+
+    // Kachel an einer beliebigen Weltposition (auch negativ)
+    public int getTile(int worldX, int worldY) {
+        int chunkX = Math.floorDiv(worldX, CHUNK_SIZE);
+        int chunkY = Math.floorDiv(worldY, CHUNK_SIZE);
+        MazeGrid chunk = getChunk(chunkX, chunkY);
+        return chunk.get(worldX - chunkX * CHUNK_SIZE, worldY - chunkY * CHUNK_SIZE);
+    }
+
+    // Erzeugt alle Chunks im Umkreis (in Chunks) um eine Weltposition, z.B. um die Position des Balls
+    public void ensureAround(int worldX, int worldY, int radius) {
+        if ((2 * radius + 1) * (2 * radius + 1) > cacheChunks) {
+            throw new IllegalArgumentException("Cache zu klein für Radius " + radius);
+        }
+        int centerX = Math.floorDiv(worldX, CHUNK_SIZE);
+        int centerY = Math.floorDiv(worldY, CHUNK_SIZE);
+        for (int dy = -radius; dy <= radius; dy++) {
+            for (int dx = -radius; dx <= radius; dx++) {
+                getChunk(centerX + dx, centerY + dy);
+            }
+        }
+    }
+
+    public MazeGrid getChunk(int chunkX, int chunkY) {
+        if (lastChunk != null && chunkX == lastChunkX && chunkY == lastChunkY) {
+            hits++; // Der zuletzt verwendete Chunk hat ohnehin den neuesten Zeitpunkt
+            return lastChunk;
+        }
+        long key = key(chunkX, chunkY);
+        int slot = find(key);
+        if (slot >= 0) {
+            hits++;
+        } else {
+            misses++;
+            if (chunkCount < cacheChunks) {
+                slot = chunkCount++;
+                chunks[slot] = new MazeGrid(CHUNK_SIZE, CHUNK_SIZE);
+            } else {
+                // Am längsten nicht verwendeten Chunk verwerfen und sein Raster für den neuen wiederverwenden
+                slot = leastRecentlyUsed();
+                evictions++;
+            }
+            keys[slot] = key;
+            generateChunk(chunks[slot], chunkX, chunkY);
+        }
+        lastUsed[slot] = ++accessClock;
+        lastChunkX = chunkX;
+        lastChunkY = chunkY;
+        lastChunk = chunks[slot];
+        return lastChunk;
+    }
+
+    // Kopiert den Ausschnitt der Welt ab (worldX, worldY) mit width x height Kacheln an den Anfang von target,
+    // Zeile für Zeile und je Chunk am Stück. Der Cache muss alle berührten Chunks gleichzeitig fassen können.
+    public void copyRegion(MazeGrid target, int worldX, int worldY, int width, int height) {
+        for (int y = 0; y < height; y++) {
+            int chunkY = Math.floorDiv(worldY + y, CHUNK_SIZE);
+            int localY = worldY + y - chunkY * CHUNK_SIZE;
+            int x = 0;
+            while (x < width) {
+                int chunkX = Math.floorDiv(worldX + x, CHUNK_SIZE);
+                int localX = worldX + x - chunkX * CHUNK_SIZE;
+                int length = Math.min(CHUNK_SIZE - localX, width - x);
+                target.copyRow(getChunk(chunkX, chunkY), localX, localY, x, y, length);
+                x += length;
+            }
+        }
+    }
+
+    private int find(long key) {
+        for (int slot = 0; slot < chunkCount; slot++) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int leastRecentlyUsed() {
+        int oldest = 0;
+        for (int slot = 1; slot < chunkCount; slot++) {
+            if (lastUsed[slot] < lastUsed[oldest]) {
+                oldest = slot;
+            }
+        }
+        return oldest;
+    }
+
+    // Cache-Statistik
+    public int getCachedChunkCount() {
+        return chunkCount;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    private void generateChunk(MazeGrid chunk, int chunkX, int chunkY) {
+        chunk.fill(MazeGenerator.WALL);
+
+        eller.reset(mix(worldSeed, chunkX, chunkY, 0));
+        target = chunk;
+        eller.generate(CHUNK_SIZE - 2, rowWriter);
+        target = null;
+
+        // Durchgänge an den vier Kanten; Westen und Norden gehören zur Ost- bzw. Südkante des Nachbarn
+        openEdge(chunk, chunkX, chunkY, EAST, CHUNK_SIZE - 1);
+        openEdge(chunk, chunkX - 1, chunkY, EAST, 0);
+        openEdge(chunk, chunkX, chunkY, SOUTH, CHUNK_SIZE - 1);
+        openEdge(chunk, chunkX, chunkY - 1, SOUTH, 0);
+
+        random.setSeed(mix(worldSeed, chunkX, chunkY, 3));
+        addHoles(chunk);
+    }
+
+    // Öffnet die Durchgänge der Kante, die zum Chunk (edgeChunkX, edgeChunkY) in Richtung "side" gehört.
+    // "line" ist die Spalte (Ostkante) bzw. Zeile (Südkante) im aktuellen Chunk, in der geöffnet wird.
+    private void openEdge(MazeGrid chunk, int edgeChunkX, int edgeChunkY, int side, int line) {
+        random.setSeed(mix(worldSeed, edgeChunkX, edgeChunkY, side));
+        int openings = 1 + random.nextInt(MAX_EDGE_OPENINGS);
+        for (int i = 0; i < openings; i++) {
+            int offset = 1 + 4 * random.nextInt(CHUNK_CELLS);
+            for (int d = 0; d < 2; d++) {
+                if (side == EAST) {
+                    chunk.set(line, offset + d, MazeGenerator.PATH);
+                } else {
+                    chunk.set(offset + d, line, MazeGenerator.PATH);
+                }
+            }
+        }
+    }
+
+    // Löcher nur im Inneren des Chunks, damit sie sich über die Chunkgrenze hinweg nie berühren
+    private void addHoles(MazeGrid chunk) {
+        holeCandidates.clear();
+        for (int y = 2; y < CHUNK_SIZE - 2; y++) {
+            for (int x = 2; x < CHUNK_SIZE - 2; x++) {
+                if (chunk.get(x, y) == MazeGenerator.PATH) {
+                    holeCandidates.add(chunk.index(x, y));
+                }
+            }
+        }
+        for (int i = 0; i < holesPerChunk && !holeCandidates.isEmpty(); i++) {
+            int cell = holeCandidates.random(random);
+            int x = cell % CHUNK_SIZE, y = cell / CHUNK_SIZE;
+            chunk.set(cell, MazeGenerator.HOLE);
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    holeCandidates.remove(chunk.index(x + dx, y + dy));
+                }
+            }
+        }
+    }
+
+    private static long key(int chunkX, int chunkY) {
+        return ((long) chunkX << 32) | (chunkY & 0xFFFFFFFFL);
+    }
+
+    // Mischt Welt-Seed, Chunk-Koordinaten und eine Kennung zu einem Seed (SplitMix64-Finalisierer)
+    private static long mix(long seed, int chunkX, int chunkY, int salt) {
+        long z = seed ^ (chunkX * 0x9E3779B97F4A7C15L) ^ (chunkY * 0xC2B2AE3D27D4EB4FL) ^ (salt * 0x165667B19E3779F9L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
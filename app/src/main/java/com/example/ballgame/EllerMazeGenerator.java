@@ -0,0 +1,228 @@
+package com.example.ballgame;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Zeilenweiser Labyrinth-Generator nach dem Eller-Algorithmus.
+// Es wird immer nur ein Band aus vier Rasterzeilen erzeugt (zwei Zellzeilen und zwei Zeilen für die
+// Verbindungen nach unten) und sofort an einen RowConsumer übergeben. Der Speicherbedarf hängt nur von der
+// Breite ab, nicht von der Höhe, daher eignet er sich für sehr große oder endlose Level.
+// Das Layout entspricht MazeGenerator: 2x2 breite Pfade im Abstand von 4 Zellen, Randwand bei x = 0 und y = 0,
+// Kachelwerte WALL, PATH und HOLE. ChunkedMaze erzeugt damit die Chunks des Endlos-Modus direkt in ihr Raster.
+public class EllerMazeGenerator {
+
+    // Empfängt fertige Zeilen. Das Array wird danach wiederverwendet und muss bei Bedarf kopiert werden.
+    public interface RowConsumer {
+        void onRow(int y, byte[] row);
+    }
+
+    private final int width; // Breite des Labyrinths (gerade), das Raster hat width + 1 Spalten
+    private final int cellsX; // Anzahl der Gitterzellen pro Zeile
+    private final float holeChance; // Wahrscheinlichkeit für ein Loch pro Pfadzelle
+    private final Random random;
+
+    private final int[] sets; // Mengen-Nummer jeder Gitterzelle der aktuellen Zeile (immer < cellsX)
+    private final int[] remap; // Hilfsarray zum Neunummerieren der Mengen
+    private final int[] seen; // Anzahl der bisher gesehenen Zellen pro Menge
+    private final int[] chosen; // Zufällig gewählte Zelle pro Menge (Reservoir-Auswahl)
+    private final boolean[] hasDown; // Menge hat schon eine Verbindung nach unten
+    private final boolean[] right; // Verbindung zur rechten Nachbarzelle
+    private final boolean[] down; // Verbindung zur Zelle darunter
+    private final byte[] row; // Aktuelle Rasterzeile
+    private final byte[] previousRow; // Zuletzt ausgegebene Rasterzeile (für den Lochabstand)
+
+    private int nextY; // y-Koordinate der nächsten auszugebenden Zeile
+
+    public EllerMazeGenerator(int width, float holeChance, long seed) {
+        // Wie bei MazeGenerator muss die Breite durch 2 teilbar sein
+        this.width = (width % 2 == 0) ? width : width + 1;
+        if (this.width < 2) {
+            throw new IllegalArgumentException("Ungültige Breite: " + width);
+        }
+        this.cellsX = (this.width - 2) / 4 + 1;
+        this.holeChance = holeChance;
+        this.random = new Random();
+
+        sets = new int[cellsX];
+        remap = new int[2 * cellsX];
+        seen = new int[cellsX];
+        chosen = new int[cellsX];
+        hasDown = new boolean[cellsX];
+        right = new boolean[cellsX];
+        down = new boolean[cellsX];
+        row = new byte[this.width + 1]; // +1 für den Rand
+        previousRow = new byte[this.width + 1];
+
+        reset(seed);
+    }
+
+    // Beginnt ein neues Labyrinth mit dem Seed, in den vorhandenen Puffern
+    public void reset(long seed) {
+        random.setSeed(seed);
+        nextY = 0;
+        // Jede Zelle der ersten Zeile bildet eine eigene Menge
+        for (int i = 0; i < cellsX; i++) {
+            sets[i] = i;
+        }
+    }
+
+    // Anzahl der Spalten jeder ausgegebenen Zeile
+    public int getRowLength() {
+        return width + 1;
+    }
+
+    // y-Koordinate der nächsten Zeile, die ausgegeben wird
+    public int getNextY() {
+        return nextY;
+    }
+
+    // Erzeugt ein Labyrinth mit height + 1 Zeilen (wie MazeGenerator mit derselben Höhe)
+    public void generate(int height, RowConsumer consumer) {
+        int rows = ((height % 2 == 0) ? height : height + 1) + 1; // +1 für den Rand
+        int cellsY = (rows - 3) / 4 + 1;
+        for (int i = 0; i < cellsY - 1; i++) {
+            nextBand(consumer);
+        }
+        lastBand(consumer);
+        while (nextY < rows) {
+            emitWallRow(consumer);
+        }
+    }
+
+    // Gibt das nächste Band aus (vier Zeilen); vor dem ersten Band zusätzlich die obere Randwand.
+    // Für endlose Level kann diese Methode beliebig oft aufgerufen werden.
+    public void nextBand(RowConsumer consumer) {
+        if (nextY == 0) {
+            emitWallRow(consumer);
+        }
+        joinRight(false);
+        chooseDown();
+        emitCellRows(consumer);
+        emitDownRows(consumer);
+        advanceSets();
+    }
+
+    // Schließt das Labyrinth ab: alle noch getrennten Mengen der letzten Zeile werden verbunden
+    public void lastBand(RowConsumer consumer) {
+        if (nextY == 0) {
+            emitWallRow(consumer);
+        }
+        joinRight(true);
+        Arrays.fill(down, false);
+        emitCellRows(consumer);
+    }
+
+    // Verbindet benachbarte Zellen verschiedener Mengen zufällig (in der letzten Zeile immer)
+    private void joinRight(boolean all) {
+        for (int cx = 0; cx < cellsX - 1; cx++) {
+            right[cx] = false;
+            if (sets[cx] != sets[cx + 1] && (all || random.nextBoolean())) {
+                right[cx] = true;
+                int from = sets[cx + 1], to = sets[cx];
+                for (int i = 0; i < cellsX; i++) {
+                    if (sets[i] == from) {
+                        sets[i] = to;
+                    }
+                }
+            }
+        }
+        right[cellsX - 1] = false;
+    }
+
+    // Wählt die Verbindungen nach unten, mindestens eine pro Menge
+    private void chooseDown() {
+        Arrays.fill(seen, 0);
+        Arrays.fill(hasDown, false);
+        for (int cx = 0; cx < cellsX; cx++) {
+            int set = sets[cx];
+            down[cx] = random.nextBoolean();
+            hasDown[set] |= down[cx];
+            // Reservoir-Auswahl: jede Zelle der Menge wird mit gleicher Wahrscheinlichkeit gewählt
+            seen[set]++;
+            if (random.nextInt(seen[set]) == 0) {
+                chosen[set] = cx;
+            }
+        }
+        for (int set = 0; set < cellsX; set++) {
+            if (seen[set] > 0 && !hasDown[set]) {
+                down[chosen[set]] = true;
+            }
+        }
+    }
+
+    // Übernimmt die Mengen für die nächste Zeile: Zellen ohne Verbindung nach unten bilden neue Mengen.
+    // Danach werden die Nummern wieder auf 0 .. cellsX - 1 verdichtet.
+    private void advanceSets() {
+        Arrays.fill(remap, -1);
+        int next = 0;
+        for (int cx = 0; cx < cellsX; cx++) {
+            int set = down[cx] ? sets[cx] : cellsX + cx;
+            if (remap[set] < 0) {
+                remap[set] = next++;
+            }
+            sets[cx] = remap[set];
+        }
+    }
+
+    private void emitCellRows(RowConsumer consumer) {
+        for (int i = 0; i < 2; i++) {
+            Arrays.fill(row, (byte) MazeGenerator.WALL);
+            for (int cx = 0; cx < cellsX; cx++) {
+                int x = 1 + 4 * cx;
+                setPath(x);
+                setPath(x + 1);
+                if (right[cx]) {
+                    setPath(x + 2);
+                    setPath(x + 3);
+                }
+            }
+            emit(consumer);
+        }
+    }
+
+    private void emitDownRows(RowConsumer consumer) {
+        for (int i = 0; i < 2; i++) {
+            Arrays.fill(row, (byte) MazeGenerator.WALL);
+            for (int cx = 0; cx < cellsX; cx++) {
+                if (down[cx]) {
+                    int x = 1 + 4 * cx;
+                    setPath(x);
+                    setPath(x + 1);
+                }
+            }
+            emit(consumer);
+        }
+    }
+
+    private void emitWallRow(RowConsumer consumer) {
+        Arrays.fill(row, (byte) MazeGenerator.WALL);
+        emit(consumer);
+    }
+
+    private void setPath(int x) {
+        if (x < row.length) {
+            row[x] = (byte) MazeGenerator.PATH;
+        }
+    }
+
+    // Setzt zufällig Löcher auf Pfadzellen, ohne dass sie sich berühren, und gibt die Zeile aus
+    private void emit(RowConsumer consumer) {
+        if (holeChance > 0f && nextY > 0) {
+            for (int x = 1; x < row.length - 1; x++) {
+                if (row[x] == MazeGenerator.PATH && !isNearHole(x) && random.nextFloat() < holeChance) {
+                    row[x] = (byte) MazeGenerator.HOLE;
+                }
+            }
+        }
+        consumer.onRow(nextY++, row);
+        System.arraycopy(row, 0, previousRow, 0, row.length);
+    }
+
+    // Prüft die schon festgelegten Nachbarn: links in dieser Zeile und die drei darüber
+    private boolean isNearHole(int x) {
+        return row[x - 1] == MazeGenerator.HOLE
+                || previousRow[x - 1] == MazeGenerator.HOLE
+                || previousRow[x] == MazeGenerator.HOLE
+                || previousRow[x + 1] == MazeGenerator.HOLE;
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.ballgame;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Messwerte der letzten Frames in Ringpuffern fester Größe: Zeichendauer, Abstand zwischen zwei Frames und
+// Latenz vom Sensorereignis bis zum fertigen Frame. Aufzeichnen und Auswerten (Perzentile, Overlay-Text)
+// legen keine Objekte an, damit die Messung das Ergebnis nicht verfälscht. Nur writeCsv schreibt in einen Writer.
+// Nicht threadsicher: alle Aufrufe kommen vom Spiel-Thread.
+public class FrameStats {
+    public static final int DRAW = 0; // Dauer von lockCanvas bis unlockCanvasAndPost
+    public static final int INTERVAL = 1; // Abstand zum vorherigen Frame
+    public static final int LATENCY = 2; // Zeitstempel des Sensorwerts bis zum Abschicken des Frames
+    public static final int METRIC_COUNT = 3;
+
+    public static final int DEFAULT_CAPACITY = 512;
+    public static final int OVERLAY_LINES = 4;
+    private static final long NO_VALUE = -1;
+    private static final String[] LABELS = {"draw ", "frame", "input"};
+
+    private final long[][] samples; // [Messwert][Frame], Ringpuffer
+    private final long[] scratch; // Arbeitskopie für die Perzentile
+    private final int capacity;
+    private int next; // Nächste Schreibposition
+    private int count; // Belegte Einträge (höchstens capacity)
+    private long frameCount;
+    private long droppedFrames;
+    private long framePeriodNanos = 1_000_000_000L / 60;
+
+    public FrameStats() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public FrameStats(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Ungültige Kapazität: " + capacity);
+        }
+        this.capacity = capacity;
+        this.samples = new long[METRIC_COUNT][capacity];
+        this.scratch = new long[capacity];
+    }
+
+    // Dauer eines VSync-Intervalls des Displays, daran werden ausgelassene Frames erkannt
+    public void setFramePeriodNanos(long framePeriodNanos) {
+        if (framePeriodNanos <= 0) {
+            throw new IllegalArgumentException("Ungültige Framedauer: " + framePeriodNanos);
+        }
+        this.framePeriodNanos = framePeriodNanos;
+    }
+
+    public long getFramePeriodNanos() {
+        return framePeriodNanos;
+    }
+
+    // Zeichnet einen Frame auf. intervalNanos <= 0 (erster Frame) und latencyNanos < 0 (kein Sensorwert) werden
+    // bei den Perzentilen übersprungen.
+    public void recordFrame(long intervalNanos, long drawNanos, long latencyNanos) {
+        samples[DRAW][next] = drawNanos;
+        samples[INTERVAL][next] = (intervalNanos > 0) ? intervalNanos : NO_VALUE;
+        samples[LATENCY][next] = (latencyNanos >= 0) ? latencyNanos : NO_VALUE;
+        next = (next + 1) % capacity;
+        if (count < capacity) {
+            count++;
+        }
+        frameCount++;
+
+        // Dauert ein Frame mehr als anderthalb VSync-Intervalle, wurden dazwischen Frames ausgelassen
+        if (intervalNanos > framePeriodNanos + framePeriodNanos / 2) {
+            droppedFrames += (intervalNanos + framePeriodNanos / 2) / framePeriodNanos - 1;
+        }
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    public int getSampleCount() {
+        return count;
+    }
+
+    public void reset() {
+        next = 0;
+        count = 0;
+        frameCount = 0;
+        droppedFrames = 0;
+    }
+
+    // Perzentil (0 bis 100) eines Messwerts über die Frames im Puffer, -1 wenn es keine Werte gibt
+    public long percentile(int metric, int percent) {
+        if (metric < 0 || metric >= METRIC_COUNT || percent < 0 || percent > 100) {
+            throw new IllegalArgumentException("Ungültiges Perzentil: " + metric + ", " + percent);
+        }
+        int n = 0;
+        long[] values = samples[metric];
+        for (int i = 0; i < count; i++) {
+            if (values[i] != NO_VALUE) {
+                scratch[n++] = values[i];
+            }
+        }
+        if (n == 0) {
+            return NO_VALUE;
+        }
+        // Nächster Rang, wie üblich für Frame-Perzentile
+        int rank = Math.max(0, (int) Math.ceil(percent / 100.0 * n) - 1);
+        return select(scratch, n, rank);
+    }
+
+    // k-kleinstes Element der ersten n Werte (Quickselect in place, ohne Hilfsarrays)
+    private static long select(long[] values, int n, int k) {
+        int left = 0, right = n - 1;
+        while (left < right) {
+            long pivot = values[(left + right) >>> 1];
+            int i = left, j = right;
+            while (i <= j) {
+                while (values[i] < pivot) i++;
+                while (values[j] > pivot) j--;
+                if (i <= j) {
+                    long tmp = values[i];
+                    values[i] = values[j];
+                    values[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return values[k];
+            }
+        }
+        return values[k];
+    }
+
+    // Schreibt eine Zeile des Overlays in "out" und gibt ihre Länge zurück.
+    // Zeilen 0 bis 2: "<Messwert> p50 x.xx p95 x.xx p99 x.xx ms", Zeile 3: Anzahl der ausgelassenen Frames
+    public int formatOverlayLine(int line, char[] out) {
+        int pos = 0;
+        if (line < METRIC_COUNT) {
+            pos = appendText(out, pos, LABELS[line]);
+            pos = appendText(out, pos, " p50 ");
+            pos = appendMillis(out, pos, percentile(line, 50));
+            pos = appendText(out, pos, " p95 ");
+            pos = appendMillis(out, pos, percentile(line, 95));
+            pos = appendText(out, pos, " p99 ");
+            pos = appendMillis(out, pos, percentile(line, 99));
+            pos = appendText(out, pos, " ms");
+        } else {
+            pos = appendText(out, pos, "dropped ");
+            pos = appendLong(out, pos, droppedFrames);
+            pos = appendText(out, pos, " / ");
+            pos = appendLong(out, pos, frameCount);
+        }
+        return pos;
+    }
+
+    // CSV mit einer Zeile pro Frame im Puffer (älteste zuerst), Zeiten in Nanosekunden, leer wenn unbekannt
+    public void writeCsv(Writer writer) throws IOException {
+        writer.write("frame,draw_ns,interval_ns,latency_ns\n");
+        long firstFrame = frameCount - count;
+        int start = (next - count + capacity) % capacity;
+        for (int i = 0; i < count; i++) {
+            int slot = (start + i) % capacity;
+            writer.write(Long.toString(firstFrame + i));
+            for (int metric = 0; metric < METRIC_COUNT; metric++) {
+                writer.write(',');
+                long value = samples[metric][slot];
+                if (value != NO_VALUE) {
+                    writer.write(Long.toString(value));
+                }
+            }
+            writer.write('\n');
+        }
+        writer.write("# frames=" + frameCount + ", dropped=" + droppedFrames + ", period_ns=" + framePeriodNanos + "\n");
+    }
+
+    private static int appendText(char[] out, int pos, String text) {
+        int length = Math.min(text.length(), out.length - pos);
+        text.getChars(0, length, out, pos);
+        return pos + length;
+    }
+
+    private static int appendLong(char[] out, int pos, long value) {
+        if (value < 0) {
+            if (pos < out.length) out[pos++] = '-';
+            value = -value;
+        }
+        // Ziffern rückwärts bestimmen, dann in der richtigen Reihenfolge schreiben
+        int digits = 1;
+        for (long v = value / 10; v > 0; v /= 10) {
+            digits++;
+        }
+        int end = Math.min(pos + digits, out.length);
+        for (int i = pos + digits - 1; i >= pos; i--) {
+            if (i < end) {
+                out[i] = (char) ('0' + value % 10);
+            }
+            value /= 10;
+        }
+        return end;
+    }
+
+    // Nanosekunden als Millisekunden mit zwei Nachkommastellen, "-" wenn kein Wert vorliegt
+    private static int appendMillis(char[] out, int pos, long nanos) {
+        if (nanos < 0) {
+            return appendText(out, pos, "-");
+        }
+        long hundredths = (nanos + 5_000) / 10_000;
+        pos = appendLong(out, pos, hundredths / 100);
+        if (pos < out.length) out[pos++] = '.';
+        long fraction = hundredths % 100;
+        if (pos < out.length) out[pos++] = (char) ('0' + fraction / 10);
+        if (pos < out.length) out[pos++] = (char) ('0' + fraction % 10);
+        return pos;
+    }
+}
@@ -6,11 +6,8 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.SharedPreferences;
 import android.hardware.Sensor;
-import android.hardware.SensorEvent;
-import android.hardware.SensorEventListener;
 import android.hardware.SensorManager;
 import android.os.Bundle;
-import android.os.CountDownTimer;
 import android.view.Gravity;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -24,22 +21,24 @@ import androidx.appcompat.app.AppCompatActivity;
 import java.util.HashSet;
 import java.util.Set;
 
-public class GameActivity extends AppCompatActivity implements SensorEventListener {
+public class GameActivity extends AppCompatActivity {
+    public static final String EXTRA_MODE = "mode"; // GameEngine.MODE_LEVELS oder GameEngine.MODE_ENDLESS
     private SensorManager sensorManager;
     private Sensor accelerometer;
+    private SensorInput sensorInput; // Liest den Sensor auf eigenem Thread und schreibt in den TiltSlot der GameView
     private GameView gameView;
-    private MazeGenerator mazeGenerator;
-    private int baseWidth = 20;
-    private int baseHeight = 40;
-    private int baseHoleCount = 7;
+    private LevelPipeline levelPipeline;
     private Player player;
     private int score = 0;
+    private int mode;
     private TextView scoreView, highscoreView, timerView;
     private Button pauseButton;
-    private int mazeWidth, mazeHeight, holeCount;
-    private CountDownTimer countDownTimer;
-    private long timeLeftInMillis = 60000; // 60 Sekunden
     private boolean isPaused = false;
+    // Overlay mit Frame-Zeiten, umschalten durch langes Drücken auf Pause; ändert nichts am Spiel
+    private boolean showFrameStats = false;
+    // Aufzeichnung der Eingaben für TraceReplay, umschalten durch langes Drücken auf die Zeitanzeige.
+    // Getrennt vom Overlay, weil beim Einschalten ein neues Spiel beginnt.
+    private boolean recordTrace = false;
     private static final String PREFS_NAME = "player_prefs";
     private static final String PLAYERS_KEY = "players";
 
@@ -72,11 +71,18 @@ public class GameActivity extends AppCompatActivity implements SensorEventListen
         // Setze das Layout
         setupLayout();
 
-        // Generiere das erste Labyrinth basierend auf dem Start-Score
-        generateNewMaze();
+        // Starte die Hintergrunderzeugung der Level
+        levelPipeline = new LevelPipeline();
 
-        // Starte den Timer
-        startTimer();
+        // Die Engine übernimmt Level, Score und Spielzeit; die GameView treibt sie an und zeichnet sie
+        mode = getIntent().getIntExtra(EXTRA_MODE, GameEngine.MODE_LEVELS);
+        GameEngine engine = new GameEngine(levelPipeline, MazeGenerator.randomSeed(), mode);
+        gameView = new GameView(this, engine, this);
+        gameView.setStatsEnabled(showFrameStats);
+        ((FrameLayout) findViewById(android.R.id.content)).addView(gameView, 0);  // Füge die GameView als erstes hinzu
+
+        // Sensorwerte gehen ab jetzt direkt vom Sensor-Thread an die GameView, nicht mehr über den UI-Thread
+        sensorInput = new SensorInput(sensorManager, accelerometer, gameView.getTiltSlot());
     }
 
 
@@ -92,7 +98,7 @@ public class GameActivity extends AppCompatActivity implements SensorEventListen
         // Setze die anfänglichen Werte für Score, Highscore und Timer
         scoreView.setText("Score: " + score);
         highscoreView.setText("Highscore: " + player.getHighscore());
-        timerView.setText("Time Left: " + (timeLeftInMillis / 1000) + "s");
+        timerView.setText("Time Left: " + GameEngine.GAME_DURATION_NANOS / 1_000_000_000L + "s");
 
 
         // Setze die Transparenz der TextViews auf 20%
@@ -153,6 +159,24 @@ public class GameActivity extends AppCompatActivity implements SensorEventListen
                 showPauseMenu();
             }
         });
+        pauseButton.setOnLongClickListener(new View.OnLongClickListener() {
+            @Override
+            public boolean onLongClick(View v) {
+                showFrameStats = !showFrameStats;
+                gameView.setStatsEnabled(showFrameStats);
+                return true;
+            }
+        });
+        timerView.setOnLongClickListener(new View.OnLongClickListener() {
+            @Override
+            public boolean onLongClick(View v) {
+                recordTrace = !recordTrace;
+                gameView.setTraceEnabled(recordTrace);
+                Toast.makeText(GameActivity.this, recordTrace ? "Aufzeichnung gestartet, neues Spiel" : "Aufzeichnung beendet",
+                        Toast.LENGTH_SHORT).show();
+                return true;
+            }
+        });
 
         // Füge die TextViews und den Pause-Button hinzu, nachdem das Labyrinth hinzugefügt wurde
         gameLayout.addView(scoreView);
@@ -164,61 +188,18 @@ public class GameActivity extends AppCompatActivity implements SensorEventListen
         setContentView(gameLayout);
     }
 
-    private void generateNewMaze() {
-        // Berechne neue Labyrinthgröße und Anzahl der Löcher basierend auf dem aktuellen Score
-        mazeWidth = baseWidth + 2 * score;
-        mazeHeight = baseHeight + 4 * score;
-        holeCount = baseHoleCount + score;
-
-        // Generiere ein neues Labyrinth
-        mazeGenerator = new MazeGenerator(mazeWidth, mazeHeight, holeCount);
-
-        // Setze die benutzerdefinierte GameView als Hintergrund des Layouts
-        if (gameView != null) {
-            ((FrameLayout) findViewById(android.R.id.content)).removeView(gameView);
+    // Vom Spiel-Thread über GameView gemeldet, läuft auf dem UI-Thread: Ziel erreicht oder neues Spiel nach Ablauf der Zeit
+    public void onScoreChanged(int score) {
+        this.score = score;
+        // Im Endlos-Modus zählt die Entfernung in Chunks, das ist mit den Leveln nicht vergleichbar
+        if (mode == GameEngine.MODE_LEVELS) {
+            setHighscore(score);
         }
-        gameView = new GameView(this, mazeGenerator, this);
-        ((FrameLayout) findViewById(android.R.id.content)).addView(gameView, 0);  // Füge die GameView als erstes hinzu
-    }
-
-    private void startTimer() {
-        countDownTimer = new CountDownTimer(timeLeftInMillis, 1000) {
-            @Override
-            public void onTick(long millisUntilFinished) {
-                timeLeftInMillis = millisUntilFinished;
-                updateTimerDisplay();
-            }
-
-            @Override
-            public void onFinish() {
-                resetGame();
-            }
-        };
-        countDownTimer.start();
-    }
-
-    private void updateTimerDisplay() {
-        timerView.setText("Time Left: " + (timeLeftInMillis / 1000) + "s");
-    }
-
-    private void resetGame() {
-        scoreReset();
-        setHighscore(score);
-        timeLeftInMillis = 60000; // 60 Sekunden zurücksetzen
         updateScoreDisplay();
-        startTimer(); // Timer neu starten
-        generateNewMaze(); // Neues Labyrinth generieren
     }
 
-    public void scoreIncrease() {
-        score++;
-        setHighscore(score);
-        updateScoreDisplay();
-        generateNewMaze();  // Generiere ein neues Labyrinth, wenn das Ziel erreicht wurde
-    }
-
-    private void scoreReset() {
-        score = 0;
+    public void onTimeLeftChanged(int seconds) {
+        timerView.setText("Time Left: " + seconds + "s");
     }
 
     private boolean setHighscore(int score) {
@@ -238,11 +219,9 @@ public class GameActivity extends AppCompatActivity implements SensorEventListen
 
     private void showPauseMenu() {
         // Pausiere das Spiel
-        sensorManager.unregisterListener(this);
+        sensorInput.stop();
         isPaused = true;
-
-        // Pause den Timer
-        countDownTimer.cancel();
+        gameView.setPaused(true); // Hält auch die Spielzeit an
 
         // Inflater zum Erstellen des Dialogs verwenden
         AlertDialog.Builder builder = new AlertDialog.Builder(GameActivity.this);
@@ -269,9 +248,9 @@ public class GameActivity extends AppCompatActivity implements SensorEventListen
             @Override
             public void onClick(View v) {
                 // Spiel fortsetzen
-                sensorManager.registerListener(GameActivity.this, accelerometer, SensorManager.SENSOR_DELAY_GAME);
+                sensorInput.start();
                 isPaused = false;
-                startTimer(); // Timer fortsetzen
+                gameView.setPaused(false);
                 // Dialog schließen
                 dialog.dismiss();
             }
@@ -310,33 +289,32 @@ public class GameActivity extends AppCompatActivity implements SensorEventListen
     @Override
     protected void onResume() {
         super.onResume();
-        if (sensorManager != null && accelerometer != null) {
-            sensorManager.registerListener(this, accelerometer, SensorManager.SENSOR_DELAY_GAME);
+        if (sensorInput != null) {
+            sensorInput.start();
         } else {
             Toast.makeText(this, "Bewegungssensor nicht verfügbar", Toast.LENGTH_LONG).show();
         }
         if (isPaused) {
-            startTimer(); // Timer fortsetzen
             isPaused = false;
+            gameView.setPaused(false);
         }
     }
 
     @Override
     protected void onPause() {
         super.onPause();
-        if (sensorManager != null) {
-            sensorManager.unregisterListener(this);
+        if (sensorInput != null) {
+            sensorInput.stop();
         }
-        countDownTimer.cancel(); // Timer anhalten
         isPaused = true;
+        gameView.setPaused(true);
     }
 
-
     @Override
-    public void onSensorChanged(SensorEvent event) {
-        // Verarbeite die Bewegungssensoren, um den Ball zu bewegen
-        if (!isPaused) {
-            gameView.updateBallPosition(event.values[0], event.values[1]);
+    protected void onDestroy() {
+        super.onDestroy();
+        if (levelPipeline != null) {
+            levelPipeline.shutdown(); // Hintergrund-Thread beenden
         }
     }
 
@@ -359,9 +337,4 @@ public class GameActivity extends AppCompatActivity implements SensorEventListen
         editor.apply();
         System.out.println("Highscore Saved");
     }
-
-    @Override
-    public void onAccuracyChanged(Sensor sensor, int accuracy) {
-        // Nicht benötigt
-    }
 }
@@ -0,0 +1,298 @@
+package com.example.ballgame;
+
+import java.util.Random;
+
+// Der Spielablauf ohne Android: Labyrinth, Ball, Score und Spielzeit. Weiter geht es nur über step, die Zeit
+// kommt also vom Aufrufer. GameView ruft step einmal pro Frame mit der Frame-Dauer auf, Tests und Benchmarks
+// so schnell sie können. Die Physik läuft in festen Schritten (STEP_NANOS), der Rest bleibt für die Interpolation.
+// Gleicher Seed und gleiche Eingaben ergeben dasselbe Spiel. Nicht threadsicher: alle Aufrufe von einem Thread.
+//
+// Im Endlos-Modus (MODE_ENDLESS) gibt es kein Ziel: Der Ball bewegt sich durch eine ChunkedMaze, und der Score ist
+// die größte Entfernung vom Start in Chunks. Physik und GameView sehen davon nur einen Ausschnitt aus
+// WINDOW_CHUNKS x WINDOW_CHUNKS Chunks mit dem Ball im mittleren Chunk. Verlässt der Ball den mittleren Chunk, wird
+// der Ausschnitt um ganze Chunks verschoben und der Ball mitverschoben (WORLD_SHIFTED). So bleiben Raster,
+// Abstandsfeld und Zeichenaufwand gleich groß, egal wie weit der Ball kommt.
+public class GameEngine {
+    public static final long STEP_NANOS = 1_000_000_000L / 120; // Physik mit 120 Hz
+    public static final long MAX_FRAME_NANOS = 250_000_000L; // Längere Pausen (z.B. nach onPause) nicht nachholen
+    public static final long GAME_DURATION_NANOS = 60_000_000_000L; // 60 Sekunden pro Spiel
+    // Physik-Pixel pro Kachel. Die Physik rechnet in Kacheln, die Bildschirmgröße spielt für den Ablauf keine Rolle;
+    // GameView skaliert die Position auf seine Kachelgröße.
+    public static final int TILE_SIZE = 64;
+    private static final float STEP_SECONDS = STEP_NANOS / 1_000_000_000f;
+
+    // Ereignisse eines step-Aufrufs als Bitmaske (mehrere Schritte pro Aufruf können mehrere auslösen)
+    public static final int LEVEL_COMPLETED = 1; // Ziel erreicht, Score erhöht, nächstes Level geladen
+    public static final int FELL_INTO_HOLE = 2; // Labyrinth in den vorhandenen Puffern neu erzeugt
+    public static final int GAME_OVER = 4; // Zeit abgelaufen, neues Spiel mit Score 0
+    public static final int WORLD_SHIFTED = 8; // Endlos-Modus: Ausschnitt verschoben, gleiches Raster mit neuem Inhalt
+
+    // Spielmodi
+    public static final int MODE_LEVELS = 0; // Level mit Ziel, die mit dem Score wachsen
+    public static final int MODE_ENDLESS = 1; // Endlose Welt aus Chunks ohne Ziel
+    public static final int WINDOW_CHUNKS = 3; // Seitenlänge des Ausschnitts im Endlos-Modus, ungerade
+    public static final int ENDLESS_HOLES_PER_CHUNK = 6;
+    private static final int WINDOW_RADIUS = WINDOW_CHUNKS / 2;
+    private static final int WINDOW_TILES = WINDOW_CHUNKS * ChunkedMaze.CHUNK_SIZE;
+
+    // Liefert die Labyrinthe der Level. LevelPipeline erzeugt sie im Hintergrund vorab.
+    public interface LevelSource {
+        // Kündigt das nächste Level an; darf auch nichts tun
+        void prefetch(int score, long seed);
+
+        MazeGenerator take(int score, long seed);
+    }
+
+    // Erzeugt jedes Level sofort auf dem aufrufenden Thread (Tests, Benchmarks, Wiedergabe)
+    public static final LevelSource DIRECT_LEVELS = new LevelSource() {
+        @Override
+        public void prefetch(int score, long seed) {
+        }
+
+        @Override
+        public MazeGenerator take(int score, long seed) {
+            return LevelPipeline.generate(score, seed);
+        }
+    };
+
+    private final LevelSource levelSource;
+    private final int mode;
+    private long seed;
+    private final Random levelSeeds = new Random(); // Seeds der Level, aus dem Seed des Spiels gezogen
+    private MazeGenerator level;
+    private final BallPhysics ball;
+    private int score;
+    private long nextLevelSeed;
+    private long timeLeftNanos;
+    private long elapsedNanos; // Simulierte Zeit seit dem Start, über alle Spiele
+    private long accumulatorNanos;
+
+    // Nur im Endlos-Modus: die Welt und der Ausschnitt, den Physik und GameView als Labyrinth sehen.
+    // Der Ausschnitt hat wie die Level eine zusätzliche letzte Zeile und Spalte, die nicht gezeichnet wird.
+    private ChunkedMaze world;
+    private MazeGrid window;
+    private int windowChunkX, windowChunkY; // Chunk in der linken oberen Ecke des Ausschnitts
+
+    public GameEngine(long seed) {
+        this(DIRECT_LEVELS, seed);
+    }
+
+    public GameEngine(LevelSource levelSource, long seed) {
+        this(levelSource, seed, MODE_LEVELS);
+    }
+
+    public GameEngine(LevelSource levelSource, long seed, int mode) {
+        if (mode != MODE_LEVELS && mode != MODE_ENDLESS) {
+            throw new IllegalArgumentException("Unbekannter Spielmodus: " + mode);
+        }
+        this.levelSource = levelSource;
+        this.mode = mode;
+        this.seed = seed;
+        levelSeeds.setSeed(seed);
+        nextLevelSeed = drawLevelSeed();
+        if (mode == MODE_ENDLESS) {
+            window = new MazeGrid(WINDOW_TILES + 1, WINDOW_TILES + 1);
+            window.fill(MazeGenerator.WALL);
+            ball = new BallPhysics(window, TILE_SIZE);
+            startWorld();
+        } else {
+            level = levelSource.take(0, nextLevelSeed);
+            ball = new BallPhysics(level.getMaze(), TILE_SIZE);
+            startLevel();
+        }
+        timeLeftNanos = GAME_DURATION_NANOS;
+    }
+
+    // Simuliert dtNanos Nanosekunden mit der Neigung (Beschleunigungssensor, m/s²).
+    // Gibt die ausgelösten Ereignisse zurück (LEVEL_COMPLETED, FELL_INTO_HOLE, GAME_OVER), 0 wenn keine.
+    public int step(float tiltX, float tiltY, long dtNanos) {
+        if (dtNanos < 0) {
+            throw new IllegalArgumentException("Negative Zeitspanne: " + dtNanos);
+        }
+        accumulatorNanos += Math.min(dtNanos, MAX_FRAME_NANOS);
+        int events = 0;
+        while (accumulatorNanos >= STEP_NANOS) {
+            accumulatorNanos -= STEP_NANOS;
+            elapsedNanos += STEP_NANOS;
+            ball.storePreviousPosition();
+            switch (ball.step(tiltX, tiltY, STEP_SECONDS)) {
+                case BallPhysics.GOAL:
+                    score++;
+                    level = levelSource.take(score, nextLevelSeed);
+                    startLevel();
+                    events |= LEVEL_COMPLETED;
+                    break;
+                case BallPhysics.HOLE:
+                    if (mode == MODE_ENDLESS) {
+                        // Zurück zum Start, die Welt bleibt dieselbe
+                        spawnInWorld();
+                    } else {
+                        // Der Seed des neuen Labyrinths kommt aus dem Generator selbst, die Folge bleibt reproduzierbar
+                        level.generateNewMaze();
+                        ball.setMaze(level.getMaze(), TILE_SIZE);
+                        ball.reset(level.getSpawnX(), level.getSpawnY());
+                    }
+                    events |= FELL_INTO_HOLE;
+                    break;
+                default:
+                    if (mode == MODE_ENDLESS && followBall()) {
+                        events |= WORLD_SHIFTED;
+                    }
+                    break;
+            }
+
+            timeLeftNanos -= STEP_NANOS;
+            if (timeLeftNanos <= 0) {
+                restart();
+                events |= GAME_OVER;
+            }
+        }
+        return events;
+    }
+
+    // Neues Spiel mit einem neuen Seed; danach verhält sich die Engine genau wie new GameEngine(seed).
+    // Damit kann eine Aufzeichnung (SensorTraceWriter) mitten in einer Sitzung beginnen.
+    public void restart(long seed) {
+        this.seed = seed;
+        levelSeeds.setSeed(seed);
+        nextLevelSeed = drawLevelSeed();
+        restart();
+    }
+
+    // Neues Spiel: Score 0, volle Zeit und ein neues erstes Level bzw. eine neue Welt
+    public void restart() {
+        score = 0;
+        timeLeftNanos = GAME_DURATION_NANOS;
+        if (mode == MODE_ENDLESS) {
+            startWorld();
+            return;
+        }
+        level = levelSource.take(0, nextLevelSeed);
+        startLevel();
+    }
+
+    // Ball auf den Start des aktuellen Levels setzen und das nächste Level ankündigen
+    private void startLevel() {
+        ball.setMaze(level.getMaze(), TILE_SIZE);
+        ball.reset(level.getSpawnX(), level.getSpawnY());
+        accumulatorNanos = 0;
+        nextLevelSeed = drawLevelSeed();
+        levelSource.prefetch(score + 1, nextLevelSeed);
+    }
+
+    // Neue Welt aus dem nächsten Seed, Ball auf ihren Startpunkt
+    private void startWorld() {
+        world = new ChunkedMaze(nextLevelSeed, ENDLESS_HOLES_PER_CHUNK);
+        nextLevelSeed = drawLevelSeed();
+        spawnInWorld();
+        accumulatorNanos = 0;
+    }
+
+    // Ausschnitt um den Chunk des Startpunkts legen und den Ball ruhend auf den Startpunkt setzen
+    private void spawnInWorld() {
+        moveWindow(Math.floorDiv(world.getSpawnX(), ChunkedMaze.CHUNK_SIZE), Math.floorDiv(world.getSpawnY(), ChunkedMaze.CHUNK_SIZE));
+        ball.reset(world.getSpawnX() - windowChunkX * ChunkedMaze.CHUNK_SIZE, world.getSpawnY() - windowChunkY * ChunkedMaze.CHUNK_SIZE);
+    }
+
+    // Verschiebt den Ausschnitt, sobald der Ball den mittleren Chunk verlassen hat, und aktualisiert den Score.
+    // Gibt true zurück, wenn verschoben wurde.
+    private boolean followBall() {
+        int offsetX = Math.floorDiv((int) Math.floor(ball.getX() / TILE_SIZE), ChunkedMaze.CHUNK_SIZE) - WINDOW_RADIUS;
+        int offsetY = Math.floorDiv((int) Math.floor(ball.getY() / TILE_SIZE), ChunkedMaze.CHUNK_SIZE) - WINDOW_RADIUS;
+        if (offsetX == 0 && offsetY == 0) {
+            return false;
+        }
+        int centerX = windowChunkX + WINDOW_RADIUS + offsetX;
+        int centerY = windowChunkY + WINDOW_RADIUS + offsetY;
+        moveWindow(centerX, centerY);
+        ball.translate(-offsetX * ChunkedMaze.CHUNK_SIZE * TILE_SIZE, -offsetY * ChunkedMaze.CHUNK_SIZE * TILE_SIZE);
+        score = Math.max(score, Math.max(Math.abs(centerX), Math.abs(centerY)));
+        return true;
+    }
+
+    // Legt den Ausschnitt um den Chunk (centerX, centerY) und übernimmt ihn in die Physik. Das Abstandsfeld deckt
+    // nur den mittleren Chunk und eine Kachel Rand ab, denn nur dort kann der Ball vor der nächsten Verschiebung sein.
+    private void moveWindow(int centerX, int centerY) {
+        windowChunkX = centerX - WINDOW_RADIUS;
+        windowChunkY = centerY - WINDOW_RADIUS;
+        world.ensureAround(centerX * ChunkedMaze.CHUNK_SIZE, centerY * ChunkedMaze.CHUNK_SIZE, WINDOW_RADIUS);
+        world.copyRegion(window, windowChunkX * ChunkedMaze.CHUNK_SIZE, windowChunkY * ChunkedMaze.CHUNK_SIZE, WINDOW_TILES, WINDOW_TILES);
+        int center = WINDOW_RADIUS * ChunkedMaze.CHUNK_SIZE;
+        ball.setMaze(window, TILE_SIZE, center - 1, center - 1, ChunkedMaze.CHUNK_SIZE + 2, ChunkedMaze.CHUNK_SIZE + 2);
+    }
+
+    // 32 Bit wie MazeGenerator.randomSeed, damit der Levelcode kurz bleibt
+    private long drawLevelSeed() {
+        return levelSeeds.nextInt() & 0xFFFFFFFFL;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getMode() {
+        return mode;
+    }
+
+    // Aktuelles Level, im Endlos-Modus null
+    public MazeGenerator getLevel() {
+        return level;
+    }
+
+    // Das Labyrinth, in dem sich der Ball bewegt; im Endlos-Modus der Ausschnitt der Welt um den Ball
+    public MazeGrid getMaze() {
+        return (mode == MODE_ENDLESS) ? window : level.getMaze();
+    }
+
+    // Welt des Endlos-Modus, sonst null
+    public ChunkedMaze getWorld() {
+        return world;
+    }
+
+    // Kachel der linken oberen Ecke des Ausschnitts in Weltkoordinaten (Endlos-Modus, sonst 0)
+    public int getWindowX() {
+        return windowChunkX * ChunkedMaze.CHUNK_SIZE;
+    }
+
+    public int getWindowY() {
+        return windowChunkY * ChunkedMaze.CHUNK_SIZE;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public long getTimeLeftNanos() {
+        return timeLeftNanos;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    // Ballposition in Physik-Pixeln (TILE_SIZE pro Kachel)
+    public float getBallX() {
+        return ball.getX();
+    }
+
+    public float getBallY() {
+        return ball.getY();
+    }
+
+    public float getBallVelocityX() {
+        return ball.getVelocityX();
+    }
+
+    public float getBallVelocityY() {
+        return ball.getVelocityY();
+    }
+
+    // Position zwischen den letzten beiden Physikschritten, passend zur noch nicht simulierten Restzeit
+    public float interpolateBallX() {
+        return ball.interpolateX((float) accumulatorNanos / STEP_NANOS);
+    }
+
+    public float interpolateBallY() {
+        return ball.interpolateY((float) accumulatorNanos / STEP_NANOS);
+    }
+}
@@ -3,138 +3,645 @@ package com.example.ballgame;
 
 import android.content.Context;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
+import android.graphics.BitmapShader;
 import android.graphics.Rect;
+import android.graphics.Shader;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.SystemClock;
 import android.util.DisplayMetrics;
-import android.view.View;
+import android.util.Log;
+import android.view.Choreographer;
+import android.view.Display;
+import android.view.SurfaceHolder;
+import android.view.SurfaceView;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+// Spielfeld auf einer SurfaceView mit eigenem Spiel-Thread.
+// Der Spielablauf steckt in der GameEngine; die View treibt sie einmal pro Frame im Takt des Displays
+// (Choreographer) an, zeichnet die interpolierte Ballposition und meldet Score und Zeit an die Activity. Der Sensor-Thread (SensorInput) schreibt nur die aktuelle Neigung in den TiltSlot, ohne Sperren.
+public class GameView extends SurfaceView implements SurfaceHolder.Callback, Choreographer.FrameCallback {
+    private static final float MIN_TILE_DP = 24f; // Kleinere Kacheln sind nicht mehr spielbar, dann folgt die Kamera dem Ball
+    private static final int LAYER_MARGIN_TILES = 4; // Vorgezeichnete Kacheln um den sichtbaren Ausschnitt herum
+    private static final String STATS_FILE = "frame_stats.csv";
+    private static final String TRACE_FILE = "sensor_trace.bin";
+    private static final float MINIMAP_MAX_WIDTH_DP = 96f, MINIMAP_MAX_HEIGHT_DP = 160f;
+    private static final float MINIMAP_MARGIN_DP = 16f;
 
-public class GameView extends View {
     private Paint paint;
-    private float ballX, ballY;
+    private final GameEngine engine;
+    private float renderScale; // Bildschirmpixel pro Physik-Pixel der Engine
     private float ballRadius;
-    private Bitmap wallBitmap, pathBitmap, holeBitmap, spawnBitmap, goalBitmap, ballBitmap;
-    private MazeGenerator mazeGenerator;
-    private int[][] maze;
+    private Bitmap ballBitmap;
+    // Eine Paint pro Kacheltyp (Index = Kachelwert) mit der Kachel als wiederholtem Muster
+    private final Paint[] tilePaints = new Paint[MazeGenerator.GOAL + 1];
+    private final TileMesher tileMesher = new TileMesher();
+    private MazeGrid maze;
     private int screenWidth, screenHeight;
+    private float density;
     private int tileSize;
     private GameActivity gameActivity;
+    private Bitmap mazeLayer; // Vorgezeichnete Kacheln um den sichtbaren Ausschnitt
+    private boolean mazeLayerValid; // false, sobald das Labyrinth neu erzeugt wurde oder die Kamera die Ebene verlässt
+
+    // Kamera: linke obere Ecke des Bildschirms in Labyrinth-Pixeln. Passt das Labyrinth auf den Bildschirm, bleibt sie bei 0.
+    private boolean cameraMode;
+    private int cameraX, cameraY;
+    private int lastCameraX, lastCameraY;
+    // Ausschnitt des Labyrinths (in Kacheln), den die Ebene gerade enthält
+    private int layerTileX, layerTileY, layerColumns, layerRows;
+
+    // Dirty-Rectangle: gezeichnet wird nur die Vereinigung aus alter und neuer Ballposition
+    private final Rect ballRect = new Rect();
+    private final Rect lastBallRect = new Rect();
+    private final Rect dirtyRect = new Rect();
+
+    // Wiederverwendet, damit weder Frames noch Physikschritte Objekte anlegen
+    private final Canvas layerCanvas = new Canvas();
+    private final Runnable scoreTask = new Runnable() {
+        @Override
+        public void run() {
+            gameActivity.onScoreChanged(displayedScore);
+        }
+    };
+    private final Runnable timeTask = new Runnable() {
+        @Override
+        public void run() {
+            gameActivity.onTimeLeftChanged(displayedSeconds);
+        }
+    };
+    // Vom Spiel-Thread für den UI-Thread abgelegt, gelesen von scoreTask und timeTask
+    private volatile int displayedScore;
+    private volatile int displayedSeconds;
+    private boolean fullRedraw = true; // Ganzes Bild neu zeichnen (neue Surface oder neues Labyrinth)
+
+    // Neigung vom Sensor-Thread; wird einmal pro Frame in tiltSnapshot gelesen
+    private final TiltSlot tiltSlot = new TiltSlot();
+    private final TiltSlot.Snapshot tiltSnapshot = new TiltSlot.Snapshot();
+    private volatile boolean paused;
+    private volatile boolean statsEnabled;
+    private volatile boolean traceEnabled;
+    private SensorTraceWriter traceWriter; // Offene Aufzeichnung, nur auf dem Spiel-Thread benutzt
+    private volatile long levelSwitchNanos = -1; // Dauer vom Erreichen des Ziels bis zum ersten Frame des nächsten Levels
 
-    public GameView(Context context, MazeGenerator mazeGenerator, GameActivity gameActivity) {
+    // Debug-Overlay mit Frame-Zeiten; alles wird einmal angelegt und danach nur wiederverwendet
+    private final FrameStats frameStats = new FrameStats();
+    private final char[] overlayText = new char[64];
+    private final Paint overlayPaint = new Paint();
+    private final Paint overlayBackground = new Paint();
+    private final Rect overlayRect = new Rect();
+    private float overlayLineHeight;
+    private long overlayDrawnNanos; // Zeitpunkt, an dem das Overlay zuletzt gezeichnet wurde
+    private long gameDrawNanos; // Zeichenzeit des letzten Frames ohne das Overlay
+    private boolean overlayShown; // Overlay steht noch im Puffer der Surface
+    // Das Overlay wird nur einige Male pro Sekunde aktualisiert, sonst bleibt es wie der Rest im Puffer stehen
+    private static final long OVERLAY_INTERVAL_NANOS = 250_000_000L;
+
+    // Übersichtskarte im Kameramodus: eine Bitmap mit einem Pixel pro Zelle, einmal pro Labyrinth gefüllt
+    private final Minimap minimap = new Minimap();
+    private Bitmap minimapBitmap;
+    private boolean minimapValid;
+    private final Rect minimapRect = new Rect();
+    private final Paint minimapPaint = new Paint();
+    private final Paint markerPaint = new Paint();
+    private float markerX, markerY, markerRadius;
+
+    // Nur auf dem Spiel-Thread verwendet
+    private HandlerThread loopThread;
+    private Handler loopHandler;
+    private boolean running;
+    private long lastFrameNanos;
+    private long goalReachedNanos; // 0, solange kein Levelwechsel gemessen wird
+    private long stepStartNanos; // Beginn des letzten Spielschritts; das Laden des Levels liegt schon darin
+    private boolean firstFrameOfLevel;
+
+    public GameView(Context context, GameEngine engine, GameActivity gameActivity) {
         super(context);
-        this.mazeGenerator = mazeGenerator;
-        this.maze = mazeGenerator.getMaze();
+        this.engine = engine;
         this.gameActivity = gameActivity;
 
         DisplayMetrics displayMetrics = getResources().getDisplayMetrics();
         screenWidth = displayMetrics.widthPixels;
         screenHeight = displayMetrics.heightPixels;
+        density = displayMetrics.density;
 
-        // Berechne die Zellengröße so, dass die letzte Zeile und Spalte außerhalb des Bildschirms liegen
-        tileSize = Math.min((screenWidth / (maze[0].length - 1)), (screenHeight / (maze.length - 1)));
-        ballRadius = tileSize / 3;
+        paint = new Paint();
+        overlayPaint.setColor(Color.WHITE);
+        overlayPaint.setAntiAlias(true);
+        overlayPaint.setTextSize(12 * density);
+        overlayBackground.setColor(Color.argb(160, 0, 0, 0));
+        overlayLineHeight = 16 * density;
+        int overlayHeight = (int) (FrameStats.OVERLAY_LINES * overlayLineHeight + 8 * density);
+        overlayRect.set(0, screenHeight - overlayHeight, (int) (300 * density), screenHeight);
+        markerPaint.setColor(Color.RED);
+        markerPaint.setAntiAlias(true);
+        markerRadius = 3 * density;
 
-        wallBitmap = Bitmap.createScaledBitmap(BitmapFactory.decodeResource(getResources(), R.drawable.wall), tileSize, tileSize, true);
-        pathBitmap = Bitmap.createScaledBitmap(BitmapFactory.decodeResource(getResources(), R.drawable.path), tileSize, tileSize, true);
-        holeBitmap = Bitmap.createScaledBitmap(BitmapFactory.decodeResource(getResources(), R.drawable.hole), tileSize, tileSize, true);
-        spawnBitmap = Bitmap.createScaledBitmap(BitmapFactory.decodeResource(getResources(), R.drawable.spawn), tileSize, tileSize, true);
-        goalBitmap = Bitmap.createScaledBitmap(BitmapFactory.decodeResource(getResources(), R.drawable.goal), tileSize, tileSize, true);
-        ballBitmap = Bitmap.createScaledBitmap(BitmapFactory.decodeResource(getResources(), R.drawable.ball), (int) (ballRadius * 2), (int) (ballRadius * 2), true);
+        // Der Spiel-Thread läuft noch nicht, das erste Level kann direkt übernommen werden
+        applyLevel();
+        displayedSeconds = secondsLeft();
+        getHolder().addCallback(this);
+    }
 
-        paint = new Paint();
-        resetBallPosition();
+    // Zeit vom Erreichen des Ziels bis zum ersten gezeichneten Frame des nächsten Levels, -1 wenn noch nicht gemessen.
+    // Den JVM-Anteil des Wechsels misst LevelSwitchBenchmark.
+    public long getLevelSwitchNanos() {
+        return levelSwitchNanos;
+    }
+
+    // Übernimmt das aktuelle Level der Engine, ohne die View neu zu erzeugen. Sprites, Ebene und Puffer werden
+    // weiterverwendet. Läuft auf dem Spiel-Thread, sobald die Engine ein neues Level geladen hat.
+    private void applyLevel() {
+        this.maze = engine.getMaze();
+
+        // Berechne die Zellengröße so, dass die letzte Zeile und Spalte außerhalb des Bildschirms liegen.
+        // Würden die Kacheln dabei zu klein, bleibt die Mindestgröße und die Kamera folgt dem Ball.
+        int fitTileSize = Math.min((screenWidth / (maze.getWidth() - 1)), (screenHeight / (maze.getHeight() - 1)));
+        int minTileSize = Math.round(MIN_TILE_DP * density);
+        cameraMode = fitTileSize < minTileSize;
+        int newTileSize = cameraMode ? minTileSize : fitTileSize;
+        if (newTileSize != tileSize) {
+            tileSize = newTileSize;
+            ballRadius = tileSize / 3;
+            loadSprites();
+        }
+        renderScale = (float) tileSize / GameEngine.TILE_SIZE;
+
+        mazeLayerValid = false; // Die Bitmap der Ebene bleibt, solange ihre Größe passt
+        minimapValid = false;
+        firstFrameOfLevel = true;
+    }
+
+    // Sprites kommen aus dem prozessweiten Cache; bei gleicher Kachelgröße wird nichts neu dekodiert.
+    // Die Kacheln sind deckend und landen ohnehin in der Labyrinth-Ebene, daher reicht RGB_565.
+    private void loadSprites() {
+        SpriteCache sprites = SpriteCache.get(getContext());
+        tilePaints[MazeGenerator.WALL] = tilePaint(sprites.getSprite(R.drawable.wall, tileSize, tileSize, Bitmap.Config.RGB_565));
+        tilePaints[MazeGenerator.PATH] = tilePaint(sprites.getSprite(R.drawable.path, tileSize, tileSize, Bitmap.Config.RGB_565));
+        tilePaints[MazeGenerator.HOLE] = tilePaint(sprites.getSprite(R.drawable.hole, tileSize, tileSize, Bitmap.Config.RGB_565));
+        tilePaints[MazeGenerator.SPAWN] = tilePaint(sprites.getSprite(R.drawable.spawn, tileSize, tileSize, Bitmap.Config.RGB_565));
+        tilePaints[MazeGenerator.GOAL] = tilePaint(sprites.getSprite(R.drawable.goal, tileSize, tileSize, Bitmap.Config.RGB_565));
+        ballBitmap = sprites.getSprite(R.drawable.ball, (int) (ballRadius * 2), (int) (ballRadius * 2), Bitmap.Config.ARGB_8888);
+    }
+
+    private int secondsLeft() {
+        return (int) ((engine.getTimeLeftNanos() + 999_999_999L) / 1_000_000_000L);
     }
 
-    private void resetBallPosition() {
-        ballX = mazeGenerator.getSpawnX() * tileSize + tileSize / 2;
-        ballY = mazeGenerator.getSpawnY() * tileSize + tileSize / 2;
+    // Hierhin schreibt der Sensor-Thread; der Spiel-Thread liest immer den zuletzt geschriebenen Wert
+    public TiltSlot getTiltSlot() {
+        return tiltSlot;
+    }
+
+    // Schaltet das Overlay mit Frame-Zeiten ein. Beim Zerstören der Surface werden die Werte zusätzlich als CSV
+    // in das App-Verzeichnis geschrieben (STATS_FILE).
+    public void setStatsEnabled(boolean enabled) {
+        statsEnabled = enabled;
+    }
+
+    public boolean isStatsEnabled() {
+        return statsEnabled;
+    }
+
+    // Zeichnet die Eingaben der Engine für TraceReplay auf (TRACE_FILE im App-Verzeichnis). Beim Einschalten
+    // beginnt ein neues Spiel mit neuem Seed, damit die Aufzeichnung vom Anfang eines Spiels an vollständig ist.
+    // Umgeschaltet wird im nächsten Frame auf dem Spiel-Thread.
+    public void setTraceEnabled(boolean enabled) {
+        traceEnabled = enabled;
+    }
+
+    public boolean isTraceEnabled() {
+        return traceEnabled;
+    }
+
+    // Im Pausenzustand stehen Physik und Spielzeit still, gezeichnet wird weiterhin
+    public void setPaused(boolean paused) {
+        this.paused = paused;
     }
 
     @Override
-    protected void onDraw(Canvas canvas) {
-        super.onDraw(canvas);
-
-        // Zeichne das Labyrinth ohne die letzte Spalte und Zeile auf dem Bildschirm
-        for (int y = 0; y < maze.length; y++) {
-            for (int x = 0; x < maze[y].length; x++) {
-                int tile = maze[y][x];
-                Rect destRect = new Rect(x * tileSize, y * tileSize, (x + 1) * tileSize, (y + 1) * tileSize);
-
-                // Zeichne nur, wenn die Kachel innerhalb des sichtbaren Bereichs liegt
-                if (x < maze[0].length - 1 && y < maze.length - 1) {
-                    switch (tile) {
-                        case MazeGenerator.WALL:
-                            canvas.drawBitmap(wallBitmap, null, destRect, paint);
-                            break;
-                        case MazeGenerator.PATH:
-                            canvas.drawBitmap(pathBitmap, null, destRect, paint);
-                            break;
-                        case MazeGenerator.HOLE:
-                            canvas.drawBitmap(holeBitmap, null, destRect, paint);
-                            break;
-                        case MazeGenerator.SPAWN:
-                            canvas.drawBitmap(spawnBitmap, null, destRect, paint);
-                            break;
-                        case MazeGenerator.GOAL:
-                            canvas.drawBitmap(goalBitmap, null, destRect, paint);
-                            break;
-                    }
+    public void surfaceCreated(SurfaceHolder holder) {
+        loopThread = new HandlerThread("GameLoop");
+        loopThread.start();
+        loopHandler = new Handler(loopThread.getLooper());
+        loopHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                // Der Choreographer gehört zum Looper des Spiel-Threads und liefert die VSync-Zeitpunkte
+                running = true;
+                lastFrameNanos = 0;
+                fullRedraw = true;
+                Display display = getDisplay();
+                if (display != null) {
+                    frameStats.setFramePeriodNanos((long) (1_000_000_000L / display.getRefreshRate()));
                 }
+                Choreographer.getInstance().postFrameCallback(GameView.this);
             }
+        });
+    }
+
+    @Override
+    public void surfaceChanged(SurfaceHolder holder, int format, int width, int height) {
+        // Die Größe kommt aus den DisplayMetrics; die neuen Puffer müssen aber einmal komplett gezeichnet werden
+        if (loopHandler != null) {
+            loopHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    fullRedraw = true;
+                }
+            });
         }
+    }
 
-        // Zeichne den Ball
-        Rect ballRect = new Rect((int) (ballX - ballRadius), (int) (ballY - ballRadius), (int) (ballX + ballRadius), (int) (ballY + ballRadius));
-        canvas.drawBitmap(ballBitmap, null, ballRect, paint);
+    @Override
+    public void surfaceDestroyed(SurfaceHolder holder) {
+        // Spiel-Thread anhalten und warten, bis er nicht mehr auf die Surface zeichnet
+        loopHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                running = false;
+                Choreographer.getInstance().removeFrameCallback(GameView.this);
+                if (statsEnabled && frameStats.getFrameCount() > 0) {
+                    writeStatsFile();
+                }
+                flushTrace(); // Die App kann im Hintergrund beendet werden
+            }
+        });
+        loopThread.quitSafely();
+        try {
+            loopThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        loopThread = null;
+        loopHandler = null;
+    }
+
+    // Ein Frame auf dem Spiel-Thread: die Engine um die Frame-Dauer weiterrechnen, dann interpoliert zeichnen
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!running) {
+            return;
+        }
+        long elapsed = (lastFrameNanos == 0) ? 0 : frameTimeNanos - lastFrameNanos;
+        lastFrameNanos = frameTimeNanos;
+
+        if (traceEnabled != (traceWriter != null)) {
+            if (traceEnabled) {
+                startTrace();
+            } else {
+                stopTrace();
+            }
+        }
+
+        // Alle Schritte dieses Frames verwenden dieselbe Neigung
+        tiltSlot.read(tiltSnapshot);
+        if (!paused) {
+            // Die Engine begrenzt lange Frames ohnehin; begrenzt aufgezeichnet passt jede Frame-Dauer in ein int
+            long frameNanos = Math.min(elapsed, GameEngine.MAX_FRAME_NANOS);
+            if (traceWriter != null) {
+                appendTrace(frameNanos);
+            }
+            stepStartNanos = System.nanoTime();
+            handleEvents(engine.step(tiltSnapshot.x, tiltSnapshot.y, frameNanos));
+        }
+
+        boolean drawn = drawFrame(engine.interpolateBallX() * renderScale, engine.interpolateBallY() * renderScale);
+        if (drawn && firstFrameOfLevel) {
+            firstFrameOfLevel = false;
+            if (goalReachedNanos != 0) {
+                levelSwitchNanos = System.nanoTime() - goalReachedNanos;
+                goalReachedNanos = 0;
+                Log.d("GameView", "Levelwechsel bis zum ersten Frame: " + levelSwitchNanos / 1000 + " µs");
+            }
+        }
+        if (drawn && statsEnabled) {
+            // Sensor-Zeitstempel laufen auf der elapsedRealtime-Uhr, daher hier dieselbe Uhr verwenden
+            long sampleNanos = tiltSnapshot.timestampNanos;
+            long latencyNanos = (sampleNanos > 0 && !paused) ? SystemClock.elapsedRealtimeNanos() - sampleNanos : -1;
+            frameStats.recordFrame(elapsed, gameDrawNanos, latencyNanos);
+        }
+
+        Choreographer.getInstance().postFrameCallback(this);
     }
 
-    private boolean canMoveTo(float newX, float newY) {
-        int mazeX = (int) (newX / tileSize);
-        int mazeY = (int) (newY / tileSize);
+    // Gibt false zurück, wenn nichts gezeichnet wurde. Die Zeit bis einschließlich drawGame landet in gameDrawNanos;
+    // das Overlay zählt nicht dazu, damit die Statistik nicht ihre eigenen Kosten misst.
+    private boolean drawFrame(float renderX, float renderY) {
+        long drawStart = System.nanoTime();
+        updateCamera(renderX, renderY);
+        if (cameraX != lastCameraX || cameraY != lastCameraY) {
+            fullRedraw = true; // Das ganze Bild verschiebt sich
+        }
+
+        // Das Labyrinth ändert sich innerhalb eines Levels nicht. Die Ebene wird nur neu gezeichnet, wenn es neu
+        // erzeugt wurde oder der sichtbare Ausschnitt den vorgezeichneten Bereich verlässt.
+        if (!mazeLayerValid || !layerCoversCamera()) {
+            renderMazeLayer();
+            fullRedraw = true;
+        }
+        if (cameraMode) {
+            if (!minimapValid) {
+                renderMinimap();
+                fullRedraw = true;
+            }
+            // Markierung des Balls auf der Übersichtskarte
+            markerX = minimap.mapX(renderX / tileSize);
+            markerY = minimap.mapY(renderY / tileSize);
+        }
+
+        // Ball in Bildschirmkoordinaten
+        float screenX = renderX - cameraX;
+        float screenY = renderY - cameraY;
+        ballRect.set((int) (screenX - ballRadius), (int) (screenY - ballRadius), (int) (screenX + ballRadius), (int) (screenY + ballRadius));
+        boolean stats = statsEnabled;
+        if (!stats && overlayShown) {
+            fullRedraw = true; // Ausgeschaltetes Overlay entfernen
+            overlayShown = false;
+        }
+        boolean overlayDue = stats && drawStart - overlayDrawnNanos >= OVERLAY_INTERVAL_NANOS;
+        boolean ballMoved = !ballRect.equals(lastBallRect);
+        if (!fullRedraw && !overlayDue && !ballMoved) {
+            return false; // Nichts hat sich bewegt, der letzte Frame ist noch aktuell
+        }
+
+        Canvas canvas;
+        if (fullRedraw) {
+            canvas = getHolder().lockCanvas();
+        } else {
+            // Nur alte und neue Ballposition neu zeichnen (1 Pixel Rand wegen Rundung und Filterung).
+            // Die Surface übernimmt den Rest aus dem vorherigen Puffer und setzt den Clip auf dirtyRect;
+            // falls nötig vergrößert lockCanvas das Rechteck selbst.
+            dirtyRect.setEmpty();
+            if (ballMoved) {
+                dirtyRect.set(lastBallRect);
+                dirtyRect.union(ballRect);
+                dirtyRect.inset(-1, -1);
+            }
+            if (overlayDue || (stats && Rect.intersects(dirtyRect, overlayRect))) {
+                dirtyRect.union(overlayRect); // Das Overlay immer ganz zeichnen, nie nur den Teil unter dem Ball
+            }
+            if (cameraMode) {
+                // Die Markierung auf der Übersichtskarte bewegt sich mit und kann über den Rand der Karte ragen
+                int margin = (int) Math.ceil(markerRadius);
+                dirtyRect.union(minimapRect.left - margin, minimapRect.top - margin, minimapRect.right + margin, minimapRect.bottom + margin);
+            }
+            canvas = getHolder().lockCanvas(dirtyRect);
+        }
+        if (canvas == null) {
+            return false; // Surface nicht (mehr) verfügbar
+        }
+        try {
+            drawGame(canvas);
+            gameDrawNanos = System.nanoTime() - drawStart;
+            // Überdeckt der neu gezeichnete Bereich das Overlay (Ball darunter, von lockCanvas vergrößert, ganzer
+            // Frame), muss es mit neu gezeichnet werden, auch wenn es noch nicht fällig ist
+            if (stats && (overlayDue || fullRedraw || Rect.intersects(dirtyRect, overlayRect))) {
+                drawStatsOverlay(canvas);
+                overlayDrawnNanos = drawStart;
+                overlayShown = true;
+            }
+        } finally {
+            getHolder().unlockCanvasAndPost(canvas);
+        }
+        lastBallRect.set(ballRect);
+        lastCameraX = cameraX;
+        lastCameraY = cameraY;
+        fullRedraw = false;
+        return true;
+    }
 
-        // Überprüfe, ob der Ball die Randwände erreicht
-        if (mazeX < 1 || mazeX >= maze[0].length - 1 || mazeY < 1 || mazeY >= maze.length - 1) {
-            return false; // Der Ball kann nicht in die Randwände (x=1, y=1) oder außerhalb des Labyrinths gehen
+    private void drawStatsOverlay(Canvas canvas) {
+        canvas.drawRect(overlayRect, overlayBackground);
+        float x = overlayRect.left + overlayLineHeight / 2;
+        float y = overlayRect.top + overlayLineHeight;
+        for (int line = 0; line < FrameStats.OVERLAY_LINES; line++) {
+            int length = frameStats.formatOverlayLine(line, overlayText);
+            canvas.drawText(overlayText, 0, length, x, y, overlayPaint);
+            y += overlayLineHeight;
         }
+    }
 
-        return maze[mazeY][mazeX] != MazeGenerator.WALL;
+    // Schreibt die aufgezeichneten Frames als CSV, läuft beim Beenden auf dem Spiel-Thread
+    private void writeStatsFile() {
+        File file = new File(outputDirectory(), STATS_FILE);
+        try (Writer writer = new FileWriter(file)) {
+            frameStats.writeCsv(writer);
+            Log.d("GameView", "Frame-Statistik gespeichert: " + file.getAbsolutePath());
+        } catch (IOException e) {
+            Log.w("GameView", "Frame-Statistik konnte nicht gespeichert werden", e);
+        }
     }
 
-    public void updateBallPosition(float dx, float dy) {
-        float newX = ballX - dx * 5;
-        float newY = ballY + dy * 5;
+    private File outputDirectory() {
+        File directory = getContext().getExternalFilesDir(null);
+        return (directory != null) ? directory : getContext().getFilesDir();
+    }
 
-        if (canMoveTo(newX, newY)) {
-            ballX = newX;
-            ballY = newY;
+    // Beginnt ein neues Spiel und öffnet die Aufzeichnung dafür
+    private void startTrace() {
+        File file = new File(outputDirectory(), TRACE_FILE);
+        long seed = MazeGenerator.randomSeed();
+        try {
+            traceWriter = new SensorTraceWriter(file, seed, engine.getMode());
+        } catch (IOException e) {
+            Log.w("GameView", "Aufzeichnung konnte nicht angelegt werden", e);
+            traceEnabled = false;
+            return;
+        }
+        engine.restart(seed);
+        applyLevel();
+        displayedScore = 0;
+        post(scoreTask);
+        Log.d("GameView", "Aufzeichnung gestartet: " + file.getAbsolutePath());
+    }
 
-            if (isAtGoal()) {
-                mazeGenerator.generateNewMaze();
-                maze = mazeGenerator.getMaze();
-                resetBallPosition();
-                gameActivity.scoreIncrease(); // Score erhöhen, wenn das Ziel erreicht wird
+    private void appendTrace(long frameNanos) {
+        try {
+            traceWriter.append(frameNanos, tiltSnapshot.x, tiltSnapshot.y);
+        } catch (IOException e) {
+            Log.w("GameView", "Aufzeichnung abgebrochen", e);
+            traceEnabled = false;
+            stopTrace();
+        }
+    }
+
+    private void flushTrace() {
+        if (traceWriter == null) {
+            return;
+        }
+        try {
+            traceWriter.flush();
+        } catch (IOException e) {
+            Log.w("GameView", "Aufzeichnung konnte nicht geschrieben werden", e);
+        }
+    }
+
+    private void stopTrace() {
+        if (traceWriter == null) {
+            return;
+        }
+        try {
+            traceWriter.close();
+            Log.d("GameView", "Aufzeichnung beendet: " + traceWriter.getRecordCount() + " Frames");
+        } catch (IOException e) {
+            Log.w("GameView", "Aufzeichnung konnte nicht abgeschlossen werden", e);
+        }
+        traceWriter = null;
+    }
+
+    // Zentriert die Kamera auf den Ball, ohne über den Rand des Labyrinths hinauszuschauen
+    private void updateCamera(float renderX, float renderY) {
+        if (!cameraMode) {
+            cameraX = 0;
+            cameraY = 0;
+            return;
+        }
+        int worldWidth = (maze.getWidth() - 1) * tileSize;
+        int worldHeight = (maze.getHeight() - 1) * tileSize;
+        cameraX = Math.max(0, Math.min((int) renderX - screenWidth / 2, worldWidth - screenWidth));
+        cameraY = Math.max(0, Math.min((int) renderY - screenHeight / 2, worldHeight - screenHeight));
+    }
+
+    // Liegt der sichtbare Ausschnitt vollständig in der vorgezeichneten Ebene?
+    private boolean layerCoversCamera() {
+        int worldWidth = (maze.getWidth() - 1) * tileSize;
+        int worldHeight = (maze.getHeight() - 1) * tileSize;
+        int left = layerTileX * tileSize;
+        int top = layerTileY * tileSize;
+        return cameraX >= left && Math.min(cameraX + screenWidth, worldWidth) <= left + layerColumns * tileSize
+                && cameraY >= top && Math.min(cameraY + screenHeight, worldHeight) <= top + layerRows * tileSize;
+    }
+
+    // Zeichnet Hintergrund, Labyrinth und Ball; bei einem Dirty-Rectangle begrenzt der Clip des Canvas die Füllfläche
+    private void drawGame(Canvas canvas) {
+        canvas.drawColor(Color.BLACK);
+        canvas.drawBitmap(mazeLayer, layerTileX * tileSize - cameraX, layerTileY * tileSize - cameraY, paint);
+
+        // Zeichne den Ball
+        canvas.drawBitmap(ballBitmap, null, ballRect, paint);
+
+        if (cameraMode) {
+            // Pro Frame nur die fertige Karte und die Markierung, unabhängig von der Größe des Labyrinths
+            canvas.drawBitmap(minimapBitmap, null, minimapRect, minimapPaint);
+            canvas.drawCircle(markerX, markerY, markerRadius, markerPaint);
+        }
+    }
+
+    // Überträgt das Labyrinth mit einem einzigen setPixels in die Bitmap der Übersichtskarte und legt ihre Lage fest.
+    // Die Bitmap wird wiederverwendet, solange die Größe des Labyrinths gleich bleibt.
+    private void renderMinimap() {
+        minimap.update(maze);
+        int width = minimap.getWidth();
+        int height = minimap.getHeight();
+        if (minimapBitmap == null || minimapBitmap.getWidth() != width || minimapBitmap.getHeight() != height) {
+            if (minimapBitmap != null) {
+                minimapBitmap.recycle();
             }
+            minimapBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        }
+        minimapBitmap.setPixels(minimap.getPixels(), 0, width, 0, 0, width, height);
+
+        // Unten rechts, so groß wie möglich innerhalb der Höchstmaße
+        minimap.layout(MINIMAP_MAX_WIDTH_DP * density, MINIMAP_MAX_HEIGHT_DP * density,
+                screenWidth - Math.round(MINIMAP_MARGIN_DP * density), screenHeight - Math.round(MINIMAP_MARGIN_DP * density));
+        minimapPaint.setFilterBitmap(minimap.getScale() < 1f); // Vergrößert scharfe Pixel, verkleinert gefiltert
+        minimapRect.set(minimap.getLeft(), minimap.getTop(), minimap.getRight(), minimap.getBottom());
+        minimapValid = true;
+    }
 
-            if (isAtHole()) {
-                mazeGenerator.generateNewMaze();
-                maze = mazeGenerator.getMaze();
-                resetBallPosition();
+    // Die Kachel wird als Muster wiederholt, ein Rechteck aus mehreren Kacheln sieht damit aus wie einzeln gezeichnet.
+    // Das Muster beginnt am Ursprung der Ebene, der immer auf einer Kachelgrenze liegt.
+    private static Paint tilePaint(Bitmap tile) {
+        Paint tilePaint = new Paint();
+        tilePaint.setShader(new BitmapShader(tile, Shader.TileMode.REPEAT, Shader.TileMode.REPEAT));
+        return tilePaint;
+    }
+
+    // Zeichnet die Kacheln um den sichtbaren Ausschnitt (plus LAYER_MARGIN_TILES) in die zwischengespeicherte Ebene.
+    // Passt das Labyrinth auf den Bildschirm, ist das das ganze Labyrinth. Die Kosten hängen damit nur von der
+    // Bildschirmgröße ab, nicht von der Größe des Labyrinths. Die Bitmap wird wiederverwendet, solange ihre Größe gleich bleibt.
+    private void renderMazeLayer() {
+        // Die letzte Spalte und Zeile liegen außerhalb des Bildschirms
+        int columns = maze.getWidth() - 1;
+        int rows = maze.getHeight() - 1;
+        layerColumns = Math.min(columns, screenWidth / tileSize + 2 + 2 * LAYER_MARGIN_TILES);
+        layerRows = Math.min(rows, screenHeight / tileSize + 2 + 2 * LAYER_MARGIN_TILES);
+        layerTileX = Math.max(0, Math.min(cameraX / tileSize - LAYER_MARGIN_TILES, columns - layerColumns));
+        layerTileY = Math.max(0, Math.min(cameraY / tileSize - LAYER_MARGIN_TILES, rows - layerRows));
+
+        int layerWidth = layerColumns * tileSize;
+        int layerHeight = layerRows * tileSize;
+        if (mazeLayer == null || mazeLayer.getWidth() != layerWidth || mazeLayer.getHeight() != layerHeight) {
+            if (mazeLayer != null) {
+                mazeLayer.recycle();
             }
+            mazeLayer = Bitmap.createBitmap(layerWidth, layerHeight, Bitmap.Config.ARGB_8888);
         }
 
-        invalidate();
+        // Gleiche Kacheln zu Rechtecken zusammenfassen: ein drawRect pro Rechteck statt ein drawBitmap pro Kachel
+        layerCanvas.setBitmap(mazeLayer);
+        tileMesher.mesh(maze, layerTileX, layerTileY, layerColumns, layerRows);
+        for (int i = 0; i < tileMesher.size(); i++) {
+            int left = (tileMesher.getX(i) - layerTileX) * tileSize;
+            int top = (tileMesher.getY(i) - layerTileY) * tileSize;
+            layerCanvas.drawRect(left, top, left + tileMesher.getWidth(i) * tileSize, top + tileMesher.getHeight(i) * tileSize,
+                    tilePaints[tileMesher.getType(i)]);
+        }
+        mazeLayerValid = true;
     }
 
-    private boolean isAtGoal() {
-        int mazeX = (int) (ballX / tileSize);
-        int mazeY = (int) (ballY / tileSize);
-        return maze[mazeY][mazeX] == MazeGenerator.GOAL;
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        // Ebene sofort freigeben, wenn die View entfernt wird (z.B. beim Beenden der Activity).
+        // Die Surface (und damit der Spiel-Thread) ist zu diesem Zeitpunkt bereits zerstört.
+        if (mazeLayer != null) {
+            layerCanvas.setBitmap(null);
+            mazeLayer.recycle();
+            mazeLayer = null;
+        }
+        mazeLayerValid = false;
+        if (minimapBitmap != null) {
+            minimapBitmap.recycle();
+            minimapBitmap = null;
+        }
+        minimapValid = false;
+        stopTrace(); // Der Spiel-Thread läuft nicht mehr, die Aufzeichnung kann hier abgeschlossen werden
     }
 
-    private boolean isAtHole() {
-        int mazeX = (int) (ballX / tileSize);
-        int mazeY = (int) (ballY / tileSize);
-        return maze[mazeY][mazeX] == MazeGenerator.HOLE;
+    // Reagiert auf die Ereignisse der Engine: neues Level oder Labyrinth übernehmen, Score und Zeit melden
+    private void handleEvents(int events) {
+        if ((events & GameEngine.LEVEL_COMPLETED) != 0) {
+            goalReachedNanos = stepStartNanos; // Inklusive take() in der Engine bis zum ersten Frame des neuen Levels
+        }
+        if ((events & (GameEngine.LEVEL_COMPLETED | GameEngine.GAME_OVER)) != 0) {
+            applyLevel();
+            displayedScore = engine.getScore();
+            post(scoreTask);
+        } else if ((events & (GameEngine.FELL_INTO_HOLE | GameEngine.WORLD_SHIFTED)) != 0) {
+            // Das Labyrinth wurde in den vorhandenen Puffern neu erzeugt bzw. der Ausschnitt der Welt verschoben
+            maze = engine.getMaze();
+            mazeLayerValid = false; // Neues Labyrinth, Ebene beim nächsten Zeichnen neu erstellen
+            minimapValid = false;
+            if (engine.getScore() != displayedScore) {
+                // Endlos-Modus: der Score steigt, sobald der Ball weiter vom Start entfernt ist als bisher
+                displayedScore = engine.getScore();
+                post(scoreTask);
+            }
+        }
+        // Die Anzeige der Restzeit ändert sich nur einmal pro Sekunde
+        int seconds = secondsLeft();
+        if (seconds != displayedSeconds) {
+            displayedSeconds = seconds;
+            post(timeTask);
+        }
     }
 }
@@ -0,0 +1,74 @@
+package com.example.ballgame;
+
+import java.util.Random;
+
+// Randomisierter Kruskal: alle Kanten zwischen benachbarten Gitterzellen werden gemischt und der Reihe nach
+// geöffnet, wenn sie zwei noch getrennte Bereiche verbinden (Union-Find mit Pfadhalbierung und Größe).
+// Erzeugt viele kurze Sackgassen.
+public class KruskalAlgorithm implements MazeAlgorithm {
+    private int[] edges; // Kante = Zelle * 2 + Richtung (0 = rechts, 1 = unten)
+    private int[] parent; // Union-Find
+    private int[] size;
+
+    @Override
+    public void carve(MazeGrid maze, Random random) {
+        int columns = MazeLattice.columns(maze);
+        int rows = MazeLattice.rows(maze);
+        int cells = columns * rows;
+        if (parent == null || parent.length < cells) {
+            parent = new int[cells];
+            size = new int[cells];
+            edges = new int[cells * 2];
+        }
+
+        int edgeCount = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            parent[cell] = cell;
+            size[cell] = 1;
+            int x = cell % columns, y = cell / columns;
+            MazeLattice.carveCell(maze, x, y);
+            if (x + 1 < columns) edges[edgeCount++] = cell * 2;
+            if (y + 1 < rows) edges[edgeCount++] = cell * 2 + 1;
+        }
+
+        // Kanten mischen (Fisher-Yates)
+        for (int i = edgeCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = edges[i];
+            edges[i] = edges[j];
+            edges[j] = temp;
+        }
+
+        int joined = 0;
+        for (int i = 0; i < edgeCount && joined < cells - 1; i++) {
+            int cell = edges[i] >> 1;
+            int next = (edges[i] & 1) == 0 ? cell + 1 : cell + columns;
+            int a = find(cell), b = find(next);
+            if (a == b) {
+                continue;
+            }
+            if (size[a] < size[b]) {
+                int temp = a;
+                a = b;
+                b = temp;
+            }
+            parent[b] = a;
+            size[a] += size[b];
+            joined++;
+            MazeLattice.carvePassage(maze, cell % columns, cell / columns, next % columns, next / columns);
+        }
+    }
+
+    private int find(int cell) {
+        while (parent[cell] != cell) {
+            parent[cell] = parent[parent[cell]]; // Pfadhalbierung
+            cell = parent[cell];
+        }
+        return cell;
+    }
+
+    @Override
+    public int getId() {
+        return KRUSKAL;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.ballgame;
+
+// Kompakter Levelcode aus Seed, Breite, Höhe, Anzahl der Löcher und Labyrinth-Algorithmus.
+// Da MazeGenerator mit denselben Parametern immer dasselbe Labyrinth erzeugt, reicht dieser Code
+// zum Speichern, Übertragen und erneuten Erzeugen eines Levels aus.
+// Binärformat: die Werte nacheinander als vorzeichenlose Varints (7 Bit pro Byte). Der Algorithmus steht am Ende
+// und fehlt bei Codes für die Rückverfolgung (MazeAlgorithm.RECURSIVE_BACKTRACKER).
+public class LevelCode {
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final long seed;
+    private final int width, height, holeCount;
+    private final int algorithm;
+
+    public LevelCode(long seed, int width, int height, int holeCount) {
+        this(seed, width, height, holeCount, MazeAlgorithm.RECURSIVE_BACKTRACKER);
+    }
+
+    public LevelCode(long seed, int width, int height, int holeCount, int algorithm) {
+        if (width <= 0 || height <= 0 || holeCount < 0 || algorithm < 0) {
+            throw new IllegalArgumentException("Ungültige Levelparameter: " + width + "x" + height + ", " + holeCount + ", " + algorithm);
+        }
+        this.seed = seed;
+        this.width = width;
+        this.height = height;
+        this.holeCount = holeCount;
+        this.algorithm = algorithm;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getHoleCount() {
+        return holeCount;
+    }
+
+    public int getAlgorithm() {
+        return algorithm;
+    }
+
+    // Erzeugt das Labyrinth, das zu diesem Code gehört
+    public MazeGenerator createMaze() {
+        return new MazeGenerator(width, height, holeCount, seed, MazeAlgorithm.create(algorithm));
+    }
+
+    public byte[] toBytes() {
+        boolean withAlgorithm = algorithm != MazeAlgorithm.RECURSIVE_BACKTRACKER;
+        int length = varintLength(seed) + varintLength(width) + varintLength(height) + varintLength(holeCount)
+                + (withAlgorithm ? varintLength(algorithm) : 0);
+        byte[] bytes = new byte[length];
+        int pos = writeVarint(bytes, 0, seed);
+        pos = writeVarint(bytes, pos, width);
+        pos = writeVarint(bytes, pos, height);
+        pos = writeVarint(bytes, pos, holeCount);
+        if (withAlgorithm) {
+            writeVarint(bytes, pos, algorithm);
+        }
+        return bytes;
+    }
+
+    public static LevelCode fromBytes(byte[] bytes) {
+        long[] values = new long[5];
+        int count = 0;
+        int pos = 0;
+        while (pos < bytes.length && count < values.length) {
+            long value = 0;
+            int shift = 0;
+            while (true) {
+                if (pos >= bytes.length || shift > 63) {
+                    throw new IllegalArgumentException("Ungültiger Levelcode");
+                }
+                byte b = bytes[pos++];
+                // Das zehnte Byte trägt nur noch Bit 63; weitere Bits würden beim Schieben verloren gehen
+                if (shift == 63 && (b & 0x7E) != 0) {
+                    throw new IllegalArgumentException("Ungültiger Levelcode");
+                }
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+                if ((b & 0x80) == 0) {
+                    break;
+                }
+            }
+            values[count++] = value;
+        }
+        if (pos != bytes.length || count < 4) {
+            throw new IllegalArgumentException("Ungültiger Levelcode");
+        }
+        for (int i = 1; i < count; i++) {
+            if (values[i] > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Ungültiger Levelcode");
+            }
+        }
+        return new LevelCode(values[0], (int) values[1], (int) values[2], (int) values[3], (int) values[4]);
+    }
+
+    // Textform des Codes (hexadezimal), z.B. zum Anzeigen oder Teilen
+    @Override
+    public String toString() {
+        byte[] bytes = toBytes();
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    public static LevelCode parse(String code) {
+        String text = code.trim();
+        if (text.isEmpty() || text.length() % 2 != 0) {
+            throw new IllegalArgumentException("Ungültiger Levelcode: " + code);
+        }
+        byte[] bytes = new byte[text.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(text.charAt(i * 2), 16);
+            int low = Character.digit(text.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException("Ungültiger Levelcode: " + code);
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return fromBytes(bytes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LevelCode)) return false;
+        LevelCode other = (LevelCode) o;
+        return seed == other.seed && width == other.width && height == other.height && holeCount == other.holeCount
+                && algorithm == other.algorithm;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (seed ^ (seed >>> 32));
+        result = 31 * result + width;
+        result = 31 * result + height;
+        result = 31 * result + holeCount;
+        result = 31 * result + algorithm;
+        return result;
+    }
+
+    private static int varintLength(long value) {
+        int length = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+
+    private static int writeVarint(byte[] bytes, int pos, long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[pos++] = (byte) value;
+        return pos;
+    }
+}
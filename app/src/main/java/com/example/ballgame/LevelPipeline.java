@@ -0,0 +1,111 @@
+package com.example.ballgame;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+// Erzeugt das Labyrinth des nächsten Levels auf einem Hintergrund-Thread, während das aktuelle Level gespielt wird.
+// Beim Levelwechsel wird dann nur noch das fertige Labyrinth übernommen. Die Seeds kommen von der GameEngine.
+public class LevelPipeline implements GameEngine.LevelSource {
+    // Grundgröße des Labyrinths und Anzahl der Löcher bei Score 0
+    public static final int BASE_WIDTH = 20;
+    public static final int BASE_HEIGHT = 40;
+    public static final int BASE_HOLE_COUNT = 7;
+
+    private final ExecutorService executor;
+    private Future<MazeGenerator> pending; // Labyrinth, das gerade im Hintergrund erzeugt wird
+    private int pendingScore = -1; // Score, für den "pending" erzeugt wird
+    private long pendingSeed;
+
+    public LevelPipeline() {
+        executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "LevelPipeline");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY); // Nicht mit Sensor- und UI-Thread konkurrieren
+                return thread;
+            }
+        });
+    }
+
+    // Labyrinthgröße und Anzahl der Löcher abhängig vom Score
+    public static int mazeWidth(int score) {
+        return BASE_WIDTH + 2 * score;
+    }
+
+    public static int mazeHeight(int score) {
+        return BASE_HEIGHT + 4 * score;
+    }
+
+    public static int holeCount(int score) {
+        return BASE_HOLE_COUNT + score;
+    }
+
+    // Erzeugt ein Labyrinth für den Score direkt auf dem aufrufenden Thread
+    public static MazeGenerator generate(int score) {
+        return generate(score, MazeGenerator.randomSeed());
+    }
+
+    // Immer mit der Rückverfolgung: ihre langen Gänge bestimmen den Charakter des Spiels, und das Graben macht nur
+    // einen kleinen Teil der Erzeugung aus, die ohnehin im Hintergrund läuft (siehe MazeAlgorithmBenchmark)
+    public static MazeGenerator generate(int score, long seed) {
+        return new MazeGenerator(mazeWidth(score), mazeHeight(score), holeCount(score), seed);
+    }
+
+    // Startet die Erzeugung des Labyrinths für Score und Seed im Hintergrund, falls nicht schon geschehen
+    @Override
+    public synchronized void prefetch(final int score, final long seed) {
+        if (pending != null && pendingScore == score && pendingSeed == seed) {
+            return;
+        }
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pendingScore = score;
+        pendingSeed = seed;
+        pending = executor.submit(new Callable<MazeGenerator>() {
+            @Override
+            public MazeGenerator call() {
+                return generate(score, seed);
+            }
+        });
+    }
+
+    // Liefert das Labyrinth für Score und Seed. Läuft die passende Vorab-Erzeugung noch, wird auf sie gewartet, statt
+    // dieselbe Arbeit auf dem aufrufenden Thread zu wiederholen; cancel(false) würde den Hintergrund-Thread ohnehin
+    // nicht anhalten. Nur wenn nichts Passendes vorbereitet ist oder die Erzeugung fehlschlug, wird sofort erzeugt.
+    @Override
+    public synchronized MazeGenerator take(int score, long seed) {
+        Future<MazeGenerator> future = pending;
+        boolean matches = future != null && pendingScore == score && pendingSeed == seed;
+        pending = null;
+        pendingScore = -1;
+
+        if (matches) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | CancellationException e) {
+                // Hintergrunderzeugung fehlgeschlagen, unten synchron neu erzeugen
+            }
+        } else if (future != null) {
+            future.cancel(false);
+        }
+        return generate(score, seed);
+    }
+
+    // Beendet den Hintergrund-Thread, z.B. wenn die Activity zerstört wird
+    public synchronized void shutdown() {
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+        executor.shutdownNow();
+    }
+}
@@ -31,6 +31,7 @@ public class MainActivity extends AppCompatActivity {
 
         EditText playerNameInput = findViewById(R.id.player_name_input);
         Button startButton = findViewById(R.id.start_button);
+        Button endlessButton = findViewById(R.id.endless_button);
         Button clearButton = findViewById(R.id.clear_button);
         Button bluetoothButton = findViewById(R.id.bluetooth_button);
         highscoreList = findViewById(R.id.highscore_list); // ListView für die Highscore-Liste
@@ -44,21 +45,14 @@ public class MainActivity extends AppCompatActivity {
         startButton.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
-                String playerName = playerNameInput.getText().toString().trim();
-
-                // Überprüfe, ob der Name eingegeben wurde
-                if (playerName.isEmpty()) {
-                    playerNameInput.setError("Bitte einen Namen eingeben");
-                    return;
-                }
-
-                // Finde vorhandenen Spieler oder erstelle neuen
-                Player player = findOrCreatePlayer(playerName);
+                startGame(playerNameInput, GameEngine.MODE_LEVELS);
+            }
+        });
 
-                // Übergebe das Player-Objekt zur GameActivity
-                Intent intent = new Intent(MainActivity.this, GameActivity.class);
-                intent.putExtra("player", player); // Übergabe des Player-Objekts
-                startActivity(intent);
+        endlessButton.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                startGame(playerNameInput, GameEngine.MODE_ENDLESS);
             }
         });
 
@@ -81,6 +75,25 @@ public class MainActivity extends AppCompatActivity {
 
     }
 
+    private void startGame(EditText playerNameInput, int mode) {
+        String playerName = playerNameInput.getText().toString().trim();
+
+        // Überprüfe, ob der Name eingegeben wurde
+        if (playerName.isEmpty()) {
+            playerNameInput.setError("Bitte einen Namen eingeben");
+            return;
+        }
+
+        // Finde vorhandenen Spieler oder erstelle neuen
+        Player player = findOrCreatePlayer(playerName);
+
+        // Übergebe das Player-Objekt und den Spielmodus zur GameActivity
+        Intent intent = new Intent(MainActivity.this, GameActivity.class);
+        intent.putExtra("player", player); // Übergabe des Player-Objekts
+        intent.putExtra(GameActivity.EXTRA_MODE, mode);
+        startActivity(intent);
+    }
+
     private Player findOrCreatePlayer(String playerName) {
         // Suche nach vorhandenem Spieler
         for (Player player : players) {
@@ -0,0 +1,36 @@
+package com.example.ballgame;
+
+import java.util.Random;
+
+// Strategie, mit der MazeGenerator die Pfade in ein komplett mit Wänden gefülltes Raster gräbt.
+// Alle Algorithmen erzeugen dasselbe Layout (2x2 breite Pfade im Abstand von 4 Zellen, siehe MazeLattice),
+// unterscheiden sich aber in Laufzeit, Speicherbedarf und im Charakter der Gänge.
+// Implementierungen halten wiederverwendete Puffer und dürfen nicht gleichzeitig von mehreren Threads genutzt werden.
+public interface MazeAlgorithm {
+    int RECURSIVE_BACKTRACKER = 0;
+    int KRUSKAL = 1;
+    int PRIM = 2;
+    int WILSON = 3;
+
+    // Gräbt einen Spannbaum über alle Gitterzellen; alle Zufallsentscheidungen kommen aus "random"
+    void carve(MazeGrid maze, Random random);
+
+    // Kennung des Algorithmus, z.B. für den Levelcode
+    int getId();
+
+    // Erzeugt eine neue Instanz zur Kennung
+    static MazeAlgorithm create(int id) {
+        switch (id) {
+            case RECURSIVE_BACKTRACKER:
+                return new RecursiveBacktracker();
+            case KRUSKAL:
+                return new KruskalAlgorithm();
+            case PRIM:
+                return new PrimAlgorithm();
+            case WILSON:
+                return new WilsonAlgorithm();
+            default:
+                throw new IllegalArgumentException("Unbekannter Algorithmus: " + id);
+        }
+    }
+}
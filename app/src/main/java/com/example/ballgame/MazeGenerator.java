@@ -1,14 +1,23 @@
 package com.example.ballgame;
 
+import java.util.Arrays;
 import java.util.Random;
 
 public class MazeGenerator {
-    private int[][] maze; // 2D-Array, das das Labyrinth darstellt
+    private MazeGrid maze; // Raster, das das Labyrinth darstellt
     private int width, height; // Breite und Höhe des Labyrinths
     private int spawnX, spawnY; // Startposition des Balls
     private int goalX, goalY; // Position des Ziels
     private int holeCount;
+    private long seed; // Seed des aktuellen Labyrinths
     private Random random;
+    private MazeAlgorithm algorithm; // Algorithmus, der die Pfade gräbt
+    private CellIndex pathCells; // Freie Pfadzellen für Start- und Zielpunkt
+    private CellIndex holeCandidates; // Pfadzellen, auf die noch ein Loch gesetzt werden darf
+    private int[] distances; // Distanzfeld vom Startpunkt, gleiche Indizes wie MazeGrid
+    private int[] bfsQueue; // Warteschlange der Breitensuche, danach nach Entfernung sortiert
+    private int reachableCount; // Anzahl der vom Startpunkt erreichbaren Zellen
+    private float goalDistanceRatio = DEFAULT_GOAL_DISTANCE_RATIO;
 
     // Konstanten zur Darstellung von Labyrinthelementen
     public static final int WALL = 1; // Wand
@@ -17,27 +26,53 @@ public class MazeGenerator {
     public static final int SPAWN = 3; // Startpunkt des Balls
     public static final int GOAL = 4; // Zielpunkt
 
+    // Standardmäßig liegt das Ziel mindestens halb so weit vom Start entfernt wie die entfernteste erreichbare Zelle
+    public static final float DEFAULT_GOAL_DISTANCE_RATIO = 0.5f;
+
     public MazeGenerator(int width, int height, int holeCount) {
+        this(width, height, holeCount, randomSeed());
+    }
+
+    // Gleiche Werte für (seed, width, height, holeCount) erzeugen immer exakt dasselbe Labyrinth,
+    // inklusive Löchern, Start- und Zielpunkt
+    public MazeGenerator(int width, int height, int holeCount, long seed) {
+        this(width, height, holeCount, seed, new RecursiveBacktracker());
+    }
+
+    // Wie oben, aber mit frei wählbarem Algorithmus für die Pfade. Der Algorithmus gehört danach zu diesem
+    // Generator und darf nicht gleichzeitig anderweitig verwendet werden.
+    public MazeGenerator(int width, int height, int holeCount, long seed, MazeAlgorithm algorithm) {
         // Die Breite und Höhe des Labyrinths sollten durch 2 teilbar sein, damit die Pfade 2x2 Zellen breit sein können
         this.width = (width % 2 == 0) ? width : width + 1;
         this.height = (height % 2 == 0) ? height : height + 1;
-        this.maze = new int[this.height + 1][this.width + 1];  // +1 für den Rand
+        this.maze = new MazeGrid(this.width + 1, this.height + 1);  // +1 für den Rand
         this.random = new Random();
         this.holeCount = holeCount;
-        generateNewMaze();
+        this.algorithm = algorithm;
+        generateNewMaze(seed);
+    }
+
+    // Erzeugt einen neuen Seed; 32 Bit halten den Levelcode kurz
+    public static long randomSeed() {
+        return new Random().nextInt() & 0xFFFFFFFFL;
     }
 
-    // Methode zum Generieren eines neuen Labyrinths
+    // Methode zum Generieren eines neuen Labyrinths. Der neue Seed wird aus dem bisherigen Zufallsgenerator
+    // gezogen, sodass auch die Folge der Labyrinthe (z.B. nach einem Loch) reproduzierbar bleibt.
     public void generateNewMaze() {
+        generateNewMaze(random.nextInt() & 0xFFFFFFFFL);
+    }
+
+    // Generiert das Labyrinth, das zum angegebenen Seed gehört
+    public void generateNewMaze(long seed) {
+        this.seed = seed;
+        random.setSeed(seed);
+
         // Initialisiere das Labyrinth mit Wänden
-        for (int y = 0; y < height + 1; y++) { // +1 für den Rand
-            for (int x = 0; x < width + 1; x++) { // +1 für den Rand
-                maze[y][x] = WALL; // Alle Zellen initial als Wand setzen
-            }
-        }
+        maze.fill(WALL); // Alle Zellen initial als Wand setzen
 
-        // Starte die Rekursive Rückverfolgung vom zufälligen Punkt (von 1,1 starten wegen der Randwand)
-        generatePath(1, 1);
+        // Grabe die Pfade (von 1,1 an wegen der Randwand)
+        carvePaths();
 
         // Füge Löcher hinzu
         addHoles(holeCount);
@@ -47,130 +82,217 @@ public class MazeGenerator {
         setGoalPoint();
     }
 
-    // Rekursive Methode zur Erzeugung eines 2x2-Zellen-breiten Pfades
-    private void generatePath(int x, int y) {
-        carvePath(x, y); // Setze 2x2-Pfad an der aktuellen Position
-
-        // Zufällige Richtungsliste
-        int[] dirs = new int[]{0, 1, 2, 3};
-        shuffleArray(dirs);
-
-        // Probiere jede Richtung
-        for (int i = 0; i < dirs.length; i++) {
-            int nx = x, ny = y;
-
-            switch (dirs[i]) {
-                case 0: // Nach rechts
-                    nx += 4;
-                    break;
-                case 1: // Nach links
-                    nx -= 4;
-                    break;
-                case 2: // Nach unten
-                    ny += 4;
-                    break;
-                case 3: // Nach oben
-                    ny -= 4;
-                    break;
-            }
+    // Gräbt die Pfade mit dem gewählten Algorithmus in das mit Wänden gefüllte Raster.
+    // Wie addHoles, setSpawnPoint und setGoalPoint paketsichtbar, damit die Benchmarks die Phasen einzeln messen können.
+    void carvePaths() {
+        algorithm.carve(maze, random);
+    }
 
-            // Überprüfe, ob der neue Ort innerhalb der Grenzen des Arrays liegt
-            if (nx >= 1 && nx <= width - 1 && ny >= 1 && ny <= height - 1 && maze[ny][nx] == WALL) {
-                // Setze den Verbindungsweg zwischen den Zellen (2 Zellen lang)
-                int betweenX1 = x + (nx - x) / 4 * 2;
-                int betweenY1 = y + (ny - y) / 4 * 2;
-                carvePath(betweenX1, betweenY1);
+    // Füge zufällige Löcher zum Labyrinth hinzu, ohne dass sie sich berühren.
+    // Die Löcher werden aus einem Index der noch erlaubten Pfadzellen gezogen. Jedes Loch entfernt
+    // seine Nachbarschaft aus dem Index, sodass jede Platzierung O(1) kostet und immer endet.
+    void addHoles(int count) {
+        indexFreeCells();
 
-                int betweenX2 = x + (nx - x) / 2;
-                int betweenY2 = y + (ny - y) / 2;
-                carvePath(betweenX2, betweenY2);
+        for (int i = 0; i < count && !holeCandidates.isEmpty(); i++) {
+            int cell = holeCandidates.random(random);
+            int x = cell % maze.getWidth();
+            int y = cell / maze.getWidth();
+            maze.set(cell, HOLE);
+            pathCells.remove(cell);
 
-                generatePath(nx, ny); // Rekursiver Aufruf
+            // Nachbarn (auch diagonal) kommen für weitere Löcher nicht mehr in Frage
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    if (maze.contains(x + dx, y + dy)) {
+                        holeCandidates.remove(maze.index(x + dx, y + dy));
+                    }
+                }
             }
         }
     }
 
-    // Methode zum Erstellen eines 2x2-Pfads
-    private void carvePath(int x, int y) {
-        // Pfad nur innerhalb der Grenzen setzen
-        for (int dy = 0; dy < 2; dy++) {
-            for (int dx = 0; dx < 2; dx++) {
-                if (x + dx < width + 1 && y + dy < height + 1) {  // +1 für den Rand
-                    maze[y + dy][x + dx] = PATH;
+    // Baut die Indizes der freien Pfadzellen in einem Durchlauf über das Raster auf. Läuft direkt nach dem Graben,
+    // es gibt also noch keine Löcher, deren Nachbarn ausgeschlossen werden müssten.
+    private void indexFreeCells() {
+        if (pathCells == null || pathCells.capacity() != maze.size()) {
+            pathCells = new CellIndex(maze.size());
+            holeCandidates = new CellIndex(maze.size());
+        } else {
+            pathCells.clear();
+            holeCandidates.clear();
+        }
+
+        // Nur der spielbare Bereich, siehe computeDistanceField
+        for (int y = 1; y < height; y++) {
+            for (int x = 1; x < width; x++) {
+                if (maze.get(x, y) != PATH) {
+                    continue;
+                }
+                int cell = maze.index(x, y);
+                pathCells.add(cell);
+                // Löcher nicht direkt an den Rand setzen
+                if (x <= width - 2 && y <= height - 2) {
+                    holeCandidates.add(cell);
                 }
             }
         }
     }
 
-    // Hilfsmethode zum Mischen eines Arrays
-    private void shuffleArray(int[] array) {
-        for (int i = array.length - 1; i > 0; i--) {
-            int index = random.nextInt(i + 1);
-            int temp = array[index];
-            array[index] = array[i];
-            array[i] = temp;
+    // Setze einen zufälligen Startpunkt auf eine freie Pfadzelle
+    void setSpawnPoint() {
+        if (pathCells.isEmpty()) {
+            throw new IllegalStateException("Keine freie Pfadzelle für den Startpunkt");
         }
+        int cell = pathCells.random(random);
+        spawnX = cell % maze.getWidth();
+        spawnY = cell / maze.getWidth();
+
+        maze.set(spawnX, spawnY, SPAWN);
+        removeFromIndexes(cell);
     }
 
-    // Füge zufällige Löcher zum Labyrinth hinzu, ohne dass sie sich berühren
-    private void addHoles(int count) {
-        for (int i = 0; i < count; i++) {
-            int x, y;
-            int attempts = 0;
-            do {
-                x = random.nextInt(width - 2) + 1;
-                y = random.nextInt(height - 2) + 1;
-                attempts++;
-                // Verlasse die Schleife, falls zu viele Versuche unternommen wurden, um eine Endlosschleife zu verhindern
-                if (attempts > 1000) break;
-            } while (maze[y][x] != PATH || isAdjacentToHole(x, y)); // Nur auf Pfaden Löcher hinzufügen und überprüfen, dass sie sich nicht berühren
-
-            // Platziere das Loch, wenn eine gültige Position gefunden wurde
-            if (maze[y][x] == PATH && !isAdjacentToHole(x, y)) {
-                maze[y][x] = HOLE;
-            }
+    // Setze das Ziel auf eine vom Startpunkt erreichbare Zelle mit mindestens der gewünschten Entfernung.
+    // Grundlage ist das Distanzfeld, das Löcher umgeht; dadurch ist jedes Level lösbar.
+    void setGoalPoint() {
+        computeDistanceField();
+
+        int reached = reachableCount;
+        int maxDistance = distances[bfsQueue[reached - 1]];
+        if (maxDistance == 0) {
+            throw new IllegalStateException("Keine erreichbare Zelle für das Ziel");
         }
-    }
+        int target = Math.max(1, Math.min(maxDistance, Math.round(goalDistanceRatio * maxDistance)));
 
-    // Überprüfe, ob ein Loch in einer benachbarten oder diagonalen Position vorhanden ist
-    private boolean isAdjacentToHole(int x, int y) {
-        for (int dy = -1; dy <= 1; dy++) {
-            for (int dx = -1; dx <= 1; dx++) {
-                int nx = x + dx;
-                int ny = y + dy;
-                if (nx >= 0 && nx < width && ny >= 0 && ny < height && maze[ny][nx] == HOLE) {
-                    return true; // Es gibt ein Loch in der Nähe (auch diagonal)
-                }
+        // Die BFS-Warteschlange ist nach Entfernung sortiert: alle Zellen ab "first" sind weit genug entfernt
+        int low = 1, high = reached - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (distances[bfsQueue[mid]] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
         }
-        return false;
+        int first = low;
+        int cell = bfsQueue[first + random.nextInt(reached - first)];
+        goalX = cell % maze.getWidth();
+        goalY = cell / maze.getWidth();
+
+        maze.set(goalX, goalY, GOAL);
+        removeFromIndexes(cell);
     }
 
-    // Setze einen zufälligen Startpunkt
-    private void setSpawnPoint() {
-        do {
-            spawnX = random.nextInt(width);
-            spawnY = random.nextInt(height);
-        } while (maze[spawnY][spawnX] != PATH); // Stelle sicher, dass der Startpunkt auf einem Pfad liegt
+    // Start und Ziel sind keine freien Pfadzellen mehr; die Indizes bleiben so deckungsgleich mit dem Raster
+    private void removeFromIndexes(int cell) {
+        pathCells.remove(cell);
+        holeCandidates.remove(cell);
+    }
+
+    // Breitensuche vom Startpunkt über alle Zellen außer Wänden und Löchern (O(Zellen)).
+    // Ergebnis: Schritte bis zu jeder Zelle, -1 für nicht erreichbare Zellen.
+    // Nur der spielbare Bereich (1 bis width - 1, 1 bis height - 1) zählt: Randspalte und -zeile des Rasters werden
+    // nicht gezeichnet und sind für BallPhysics Wand, auch wenn das Graben dort Pfadzellen hinterlässt.
+    private void computeDistanceField() {
+        int size = maze.size();
+        if (distances == null || distances.length != size) {
+            distances = new int[size];
+            bfsQueue = new int[size];
+        }
+        Arrays.fill(distances, -1);
+
+        int rowLength = maze.getWidth();
+        int head = 0, tail = 0;
+        int start = maze.index(spawnX, spawnY);
+        distances[start] = 0;
+        bfsQueue[tail++] = start;
 
-        maze[spawnY][spawnX] = SPAWN;
+        while (head < tail) {
+            int cell = bfsQueue[head++];
+            int next = distances[cell] + 1;
+            int x = cell % rowLength;
+            int y = cell / rowLength;
+            // Rechts, links, unten, oben
+            if (x + 1 < width) tail = visit(cell + 1, next, tail);
+            if (x > 1) tail = visit(cell - 1, next, tail);
+            if (y + 1 < height) tail = visit(cell + rowLength, next, tail);
+            if (y > 1) tail = visit(cell - rowLength, next, tail);
+        }
+        reachableCount = tail;
     }
 
-    // Setze einen zufälligen Zielpunkt
-    private void setGoalPoint() {
-        do {
-            goalX = random.nextInt(width);
-            goalY = random.nextInt(height);
-        } while (maze[goalY][goalX] != PATH || (goalX == spawnX && goalY == spawnY)); // Nicht am selben Punkt wie der Spawnpunkt
+    private int visit(int cell, int distance, int tail) {
+        int tile = maze.get(cell);
+        if (distances[cell] >= 0 || tile == WALL || tile == HOLE) {
+            return tail;
+        }
+        distances[cell] = distance;
+        bfsQueue[tail] = cell;
+        return tail + 1;
+    }
 
-        maze[goalY][goalX] = GOAL;
+    // Legt fest, wie weit das Ziel mindestens vom Start entfernt liegt, als Anteil der größten erreichbaren
+    // Entfernung (0 = beliebig, 1 = möglichst weit). Wirkt ab dem nächsten generierten Labyrinth.
+    public void setGoalDistanceRatio(float ratio) {
+        if (ratio < 0f || ratio > 1f) {
+            throw new IllegalArgumentException("Ungültiger Anteil: " + ratio);
+        }
+        goalDistanceRatio = ratio;
     }
 
     // Getter-Methoden für das Spiel
-    public int[][] getMaze() {
+    public MazeGrid getMaze() {
         return maze;
     }
 
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getHoleCount() {
+        return holeCount;
+    }
+
+    public MazeAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    // Kompakter Code, aus dem sich das aktuelle Labyrinth wieder erzeugen lässt
+    public LevelCode getLevelCode() {
+        return new LevelCode(seed, width, height, holeCount, algorithm.getId());
+    }
+
+    // Indizes der freien Pfadzellen und der für Löcher erlaubten Zellen, für Tests paketsichtbar
+    CellIndex getPathCells() {
+        return pathCells;
+    }
+
+    CellIndex getHoleCandidates() {
+        return holeCandidates;
+    }
+
+    // Distanzfeld vom Startpunkt (Schritte um Wände und Löcher herum), gleiche Indizes wie MazeGrid.index;
+    // -1 bedeutet nicht erreichbar. Das Array wird bei jedem neuen Labyrinth überschrieben.
+    public int[] getDistanceField() {
+        return distances;
+    }
+
+    public int getDistance(int x, int y) {
+        return distances[maze.index(x, y)];
+    }
+
+    public int getGoalDistance() {
+        return getDistance(goalX, goalY);
+    }
+
     public int getSpawnX() {
         return spawnX;
     }
@@ -0,0 +1,92 @@
+package com.example.ballgame;
+
+import java.util.Arrays;
+
+// Kompaktes Raster des Labyrinths: alle Zellen liegen zeilenweise in einem einzigen byte-Array.
+// Ein Byte pro Zelle reicht für die fünf Kachelarten (WALL, PATH, HOLE, SPAWN, GOAL) aus MazeGenerator.
+public class MazeGrid {
+    private final int width, height; // Anzahl der Spalten und Zeilen
+    private final byte[] cells; // Zellen in Zeilenreihenfolge: Index = y * width + x
+
+    public MazeGrid(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Ungültige Rastergröße: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.cells = new byte[width * height];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    // Anzahl aller Zellen im Raster
+    public int size() {
+        return cells.length;
+    }
+
+    // Prüft, ob die Koordinaten innerhalb des Rasters liegen
+    public boolean contains(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    // Berechnet den flachen Index einer Zelle (zeilenweise)
+    public int index(int x, int y) {
+        if (!contains(x, y)) {
+            throw new IndexOutOfBoundsException("Zelle außerhalb des Rasters: " + x + "," + y);
+        }
+        return y * width + x;
+    }
+
+    public int get(int x, int y) {
+        return cells[index(x, y)];
+    }
+
+    public void set(int x, int y, int tile) {
+        cells[index(x, y)] = (byte) tile;
+    }
+
+    // Zugriff über den flachen Index, z.B. beim linearen Durchlaufen des Rasters
+    public int get(int index) {
+        return cells[index];
+    }
+
+    public void set(int index, int tile) {
+        cells[index] = (byte) tile;
+    }
+
+    // Übernimmt alle Zellen aus einem gleich großen Raster
+    public void copyFrom(MazeGrid other) {
+        if (other.width != width || other.height != height) {
+            throw new IllegalArgumentException("Rastergröße stimmt nicht überein");
+        }
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+    }
+
+    // Übernimmt eine komplette Zeile, z.B. aus EllerMazeGenerator
+    public void setRow(int y, byte[] row) {
+        if (row.length != width) {
+            throw new IllegalArgumentException("Zeilenlänge stimmt nicht überein");
+        }
+        System.arraycopy(row, 0, cells, index(0, y), width);
+    }
+
+    // Übernimmt "length" Zellen einer Zeile aus einem anderen Raster ab (sourceX, sourceY) nach (x, y),
+    // z.B. aus einem Chunk von ChunkedMaze
+    public void copyRow(MazeGrid source, int sourceX, int sourceY, int x, int y, int length) {
+        if (length < 0 || sourceX + length > source.width || x + length > width) {
+            throw new IllegalArgumentException("Zeilenabschnitt außerhalb des Rasters: " + length + " Zellen");
+        }
+        System.arraycopy(source.cells, source.index(sourceX, sourceY), cells, index(x, y), length);
+    }
+
+    // Setzt alle Zellen auf dieselbe Kachelart
+    public void fill(int tile) {
+        Arrays.fill(cells, (byte) tile);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.ballgame;
+
+// Gemeinsames Layout aller Labyrinth-Algorithmen: Gitterzellen aus 2x2 Pfaden, beginnend bei (1, 1)
+// im Abstand von 4 Rasterzellen. Zwischen zwei benachbarten Gitterzellen liegt ein 2x2 großer Durchgang.
+final class MazeLattice {
+    private MazeLattice() {
+    }
+
+    // Anzahl der Gitterzellen pro Zeile bzw. Spalte für ein Raster (inklusive Randwand)
+    static int columns(MazeGrid maze) {
+        return (maze.getWidth() - 3) / 4 + 1;
+    }
+
+    static int rows(MazeGrid maze) {
+        return (maze.getHeight() - 3) / 4 + 1;
+    }
+
+    // Ist die Gitterzelle noch nicht ausgehoben?
+    static boolean isWall(MazeGrid maze, int cellX, int cellY) {
+        return maze.get(1 + 4 * cellX, 1 + 4 * cellY) == MazeGenerator.WALL;
+    }
+
+    // 2x2-Pfad für eine Gitterzelle
+    static void carveCell(MazeGrid maze, int cellX, int cellY) {
+        carve2x2(maze, 1 + 4 * cellX, 1 + 4 * cellY);
+    }
+
+    // 2x2-Durchgang zwischen zwei benachbarten Gitterzellen
+    static void carvePassage(MazeGrid maze, int cellX, int cellY, int nextX, int nextY) {
+        carve2x2(maze, 1 + 4 * cellX + 2 * (nextX - cellX), 1 + 4 * cellY + 2 * (nextY - cellY));
+    }
+
+    private static void carve2x2(MazeGrid maze, int x, int y) {
+        // Pfad nur innerhalb der Grenzen setzen
+        for (int dy = 0; dy < 2; dy++) {
+            for (int dx = 0; dx < 2; dx++) {
+                if (maze.contains(x + dx, y + dy)) {
+                    maze.set(x + dx, y + dy, MazeGenerator.PATH);
+                }
+            }
+        }
+    }
+}
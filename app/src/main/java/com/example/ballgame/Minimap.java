@@ -0,0 +1,100 @@
+package com.example.ballgame;
+
+// Pixelpuffer für die Übersichtskarte: ein ARGB-Pixel pro Rasterzelle, direkt aus dem MazeGrid.
+// Der Puffer wird einmal pro Labyrinth gefüllt und von GameView mit einem einzigen setPixels übernommen;
+// danach bewegt sich pro Frame nur noch die Markierung des Balls. Lage und Maßstab der Karte auf dem Bildschirm
+// (layout, mapX/mapY) werden ebenfalls hier berechnet, damit sie ohne Android getestet werden können.
+public class Minimap {
+    public static final int WALL_COLOR = 0xFF303030;
+    public static final int PATH_COLOR = 0xFFC8C8C8;
+    public static final int HOLE_COLOR = 0xFF000000;
+    public static final int SPAWN_COLOR = 0xFF3060FF;
+    public static final int GOAL_COLOR = 0xFF20C040;
+
+    private int[] pixels = new int[0];
+    private int width, height;
+    private float scale; // Bildschirmpixel pro Zelle
+    private int left, top, right, bottom; // Lage auf dem Bildschirm
+
+    // Füllt den Puffer aus dem Labyrinth. Wie in GameView bleiben die letzte Spalte und Zeile weg.
+    // Der Puffer wird nur vergrößert, wenn das Labyrinth mehr Zellen hat als bisher.
+    public void update(MazeGrid maze) {
+        width = maze.getWidth() - 1;
+        height = maze.getHeight() - 1;
+        if (pixels.length < width * height) {
+            pixels = new int[width * height];
+        }
+        int i = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                pixels[i++] = colorOf(maze.get(x, y));
+            }
+        }
+    }
+
+    // Legt die Karte mit der rechten unteren Ecke an (right, bottom), so groß wie möglich innerhalb von
+    // maxWidth x maxHeight Bildschirmpixeln und mit gleichem Maßstab in beiden Richtungen. Nach update aufrufen.
+    public void layout(float maxWidth, float maxHeight, int right, int bottom) {
+        scale = Math.min(maxWidth / width, maxHeight / height);
+        this.right = right;
+        this.bottom = bottom;
+        left = right - Math.round(width * scale);
+        top = bottom - Math.round(height * scale);
+    }
+
+    // Bildschirmposition eines Punkts im Labyrinth, in Kacheln (auch Bruchteile, z.B. die Position des Balls)
+    public float mapX(float tileX) {
+        return left + tileX * scale;
+    }
+
+    public float mapY(float tileY) {
+        return top + tileY * scale;
+    }
+
+    public float getScale() {
+        return scale;
+    }
+
+    public int getLeft() {
+        return left;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    public int getRight() {
+        return right;
+    }
+
+    public int getBottom() {
+        return bottom;
+    }
+
+    public int[] getPixels() {
+        return pixels;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public static int colorOf(int tile) {
+        switch (tile) {
+            case MazeGenerator.PATH:
+                return PATH_COLOR;
+            case MazeGenerator.HOLE:
+                return HOLE_COLOR;
+            case MazeGenerator.SPAWN:
+                return SPAWN_COLOR;
+            case MazeGenerator.GOAL:
+                return GOAL_COLOR;
+            default:
+                return WALL_COLOR;
+        }
+    }
+}
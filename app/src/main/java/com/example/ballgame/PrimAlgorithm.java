@@ -0,0 +1,78 @@
+package com.example.ballgame;
+
+import java.util.Random;
+
+// Randomisierter Prim: das Labyrinth wächst von einer zufälligen Zelle aus, indem jeweils eine zufällige Zelle
+// der Grenze angeschlossen wird. Die Grenze ist ein einfaches int-Array mit Entfernen durch Vertauschen.
+// Erzeugt kurze, stark verzweigte Gänge.
+public class PrimAlgorithm implements MazeAlgorithm {
+    private static final byte OUTSIDE = 0, FRONTIER = 1, INSIDE = 2;
+
+    private byte[] state; // Zustand jeder Gitterzelle
+    private int[] frontier; // Zellen an der Grenze des bisherigen Labyrinths
+    private final int[] neighbours = new int[4];
+
+    @Override
+    public void carve(MazeGrid maze, Random random) {
+        int columns = MazeLattice.columns(maze);
+        int rows = MazeLattice.rows(maze);
+        int cells = columns * rows;
+        if (state == null || state.length < cells) {
+            state = new byte[cells];
+            frontier = new int[cells];
+        }
+        for (int i = 0; i < cells; i++) {
+            state[i] = OUTSIDE;
+        }
+
+        int frontierSize = 0;
+        int start = random.nextInt(cells);
+        state[start] = INSIDE;
+        MazeLattice.carveCell(maze, start % columns, start / columns);
+        frontierSize = addFrontier(start, columns, rows, frontierSize);
+
+        while (frontierSize > 0) {
+            int slot = random.nextInt(frontierSize);
+            int cell = frontier[slot];
+            frontier[slot] = frontier[--frontierSize];
+
+            // Zufälligen Nachbarn wählen, der schon zum Labyrinth gehört
+            int x = cell % columns, y = cell / columns;
+            int count = 0;
+            if (x + 1 < columns && state[cell + 1] == INSIDE) neighbours[count++] = cell + 1;
+            if (x > 0 && state[cell - 1] == INSIDE) neighbours[count++] = cell - 1;
+            if (y + 1 < rows && state[cell + columns] == INSIDE) neighbours[count++] = cell + columns;
+            if (y > 0 && state[cell - columns] == INSIDE) neighbours[count++] = cell - columns;
+            int target = neighbours[random.nextInt(count)];
+
+            state[cell] = INSIDE;
+            MazeLattice.carveCell(maze, x, y);
+            MazeLattice.carvePassage(maze, x, y, target % columns, target / columns);
+            frontierSize = addFrontier(cell, columns, rows, frontierSize);
+        }
+    }
+
+    // Fügt die noch unberührten Nachbarn einer Zelle zur Grenze hinzu
+    private int addFrontier(int cell, int columns, int rows, int frontierSize) {
+        int x = cell % columns, y = cell / columns;
+        if (x + 1 < columns) frontierSize = mark(cell + 1, frontierSize);
+        if (x > 0) frontierSize = mark(cell - 1, frontierSize);
+        if (y + 1 < rows) frontierSize = mark(cell + columns, frontierSize);
+        if (y > 0) frontierSize = mark(cell - columns, frontierSize);
+        return frontierSize;
+    }
+
+    private int mark(int cell, int frontierSize) {
+        if (state[cell] != OUTSIDE) {
+            return frontierSize;
+        }
+        state[cell] = FRONTIER;
+        frontier[frontierSize] = cell;
+        return frontierSize + 1;
+    }
+
+    @Override
+    public int getId() {
+        return PRIM;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.ballgame;
+
+import java.util.Random;
+
+// Rückverfolgung (Tiefensuche) ab der Gitterzelle oben links, mit explizitem, vorab allokiertem Stack statt
+// Rekursion, damit auch sehr große Labyrinthe keinen StackOverflowError auslösen. Erzeugt lange, verwinkelte Gänge.
+public class RecursiveBacktracker implements MazeAlgorithm {
+    private int[] stack; // Gitterzellen auf dem Stack (y * columns + x)
+    private int[] stackDirs; // Noch zu probierende Richtungen je Stack-Eintrag
+
+    @Override
+    public void carve(MazeGrid maze, Random random) {
+        int columns = MazeLattice.columns(maze);
+        int rows = MazeLattice.rows(maze);
+        // Jede Gitterzelle wird höchstens einmal auf den Stack gelegt
+        int capacity = columns * rows;
+        if (stack == null || stack.length < capacity) {
+            stack = new int[capacity];
+            stackDirs = new int[capacity];
+        }
+
+        int top = 0;
+        MazeLattice.carveCell(maze, 0, 0);
+        stack[top] = 0;
+        stackDirs[top] = shuffledDirections(random);
+        top++;
+
+        while (top > 0) {
+            // Bits 0-7: gemischte Richtungen (je 2 Bit), Bits 8-10: Anzahl verbleibender Richtungen
+            int state = stackDirs[top - 1];
+            int remaining = state >>> 8;
+            if (remaining == 0) {
+                top--; // Alle Richtungen probiert, zurück zur vorherigen Zelle
+                continue;
+            }
+            int dir = state & 3;
+            stackDirs[top - 1] = ((remaining - 1) << 8) | ((state & 0xFF) >>> 2);
+
+            int x = stack[top - 1] % columns;
+            int y = stack[top - 1] / columns;
+            int nx = x, ny = y;
+
+            switch (dir) {
+                case 0: // Nach rechts
+                    nx++;
+                    break;
+                case 1: // Nach links
+                    nx--;
+                    break;
+                case 2: // Nach unten
+                    ny++;
+                    break;
+                case 3: // Nach oben
+                    ny--;
+                    break;
+            }
+
+            if (nx >= 0 && nx < columns && ny >= 0 && ny < rows && MazeLattice.isWall(maze, nx, ny)) {
+                MazeLattice.carvePassage(maze, x, y, nx, ny);
+                MazeLattice.carveCell(maze, nx, ny);
+
+                stack[top] = ny * columns + nx;
+                stackDirs[top] = shuffledDirections(random);
+                top++;
+            }
+        }
+    }
+
+    // Mischt die vier Richtungen (Fisher-Yates) und packt sie in 2-Bit-Felder samt Zähler
+    static int shuffledDirections(Random random) {
+        int order = 0xE4; // Richtungen 0, 1, 2, 3 in aufsteigender Reihenfolge
+        for (int i = 3; i > 0; i--) {
+            int index = random.nextInt(i + 1);
+            int a = (order >>> (index * 2)) & 3;
+            int b = (order >>> (i * 2)) & 3;
+            order &= ~((3 << (index * 2)) | (3 << (i * 2)));
+            order |= (b << (index * 2)) | (a << (i * 2));
+        }
+        return (4 << 8) | order;
+    }
+
+    @Override
+    public int getId() {
+        return RECURSIVE_BACKTRACKER;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.ballgame;
+
+import android.hardware.Sensor;
+import android.hardware.SensorEvent;
+import android.hardware.SensorEventListener;
+import android.hardware.SensorManager;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+
+// Liest den Beschleunigungssensor auf einem eigenen Thread, filtert die Werte (TiltFilter) und legt sie im
+// TiltSlot für den Spiel-Thread ab. Der UI-Thread bekommt keine Sensorereignisse mehr.
+// Optional sammelt der Sensor-Hub die Ereignisse in seinem FIFO und liefert sie gebündelt (Batching), das spart
+// Aufwachvorgänge und Akku, verzögert die Eingabe aber um bis zu maxReportLatencyUs.
+public class SensorInput implements SensorEventListener {
+    private final SensorManager sensorManager;
+    private final Sensor accelerometer;
+    private final TiltSlot tiltSlot;
+    private final TiltFilter filter = new TiltFilter();
+
+    private int samplingPeriodUs = SensorManager.SENSOR_DELAY_GAME;
+    private int maxReportLatencyUs = 0; // 0 = kein Batching
+    private HandlerThread thread;
+
+    public SensorInput(SensorManager sensorManager, Sensor accelerometer, TiltSlot tiltSlot) {
+        this.sensorManager = sensorManager;
+        this.accelerometer = accelerometer;
+        this.tiltSlot = tiltSlot;
+    }
+
+    // Abtastrate in Mikrosekunden oder eine der SENSOR_DELAY_*-Konstanten; gilt ab dem nächsten start()
+    public void setSamplingPeriodUs(int samplingPeriodUs) {
+        this.samplingPeriodUs = samplingPeriodUs;
+    }
+
+    // Maximale Verzögerung durch Batching; wird nur genutzt, wenn der Sensor ein FIFO hat. Gilt ab dem nächsten start().
+    public void setMaxReportLatencyUs(int maxReportLatencyUs) {
+        if (maxReportLatencyUs < 0) {
+            throw new IllegalArgumentException("Ungültige Latenz: " + maxReportLatencyUs);
+        }
+        this.maxReportLatencyUs = maxReportLatencyUs;
+    }
+
+    public boolean isBatchingSupported() {
+        return accelerometer.getFifoMaxEventCount() > 0;
+    }
+
+    // Zeitkonstante des Tiefpasses in Sekunden, 0 = ungefiltert. Gilt ab dem nächsten start().
+    public void setFilterTimeConstant(float seconds) {
+        filter.setTimeConstant(seconds);
+    }
+
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    // Meldet den Sensor auf einem eigenen Thread an; vom UI-Thread aufrufen (z.B. in onResume)
+    public void start() {
+        if (thread != null) {
+            return;
+        }
+        thread = new HandlerThread("SensorInput", Process.THREAD_PRIORITY_DISPLAY);
+        thread.start();
+        Handler handler = new Handler(thread.getLooper());
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                filter.reset(); // Nach einer Pause nicht mit alten Werten weiterglätten
+            }
+        });
+        int latency = isBatchingSupported() ? maxReportLatencyUs : 0;
+        sensorManager.registerListener(this, accelerometer, samplingPeriodUs, latency, handler);
+    }
+
+    // Meldet den Sensor ab und beendet den Thread; vom UI-Thread aufrufen (z.B. in onPause)
+    public void stop() {
+        if (thread == null) {
+            return;
+        }
+        sensorManager.unregisterListener(this);
+        // Der Sensor-Thread ist der einzige Schreiber des TiltSlot, daher setzt er die Neigung auch selbst zurück
+        new Handler(thread.getLooper()).post(new Runnable() {
+            @Override
+            public void run() {
+                tiltSlot.clear();
+            }
+        });
+        thread.quitSafely();
+        try {
+            thread.join(); // Danach darf ein neuer Thread schreiben
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    @Override
+    public void onSensorChanged(SensorEvent event) {
+        filter.update(event.values[0], event.values[1], event.timestamp);
+        tiltSlot.publish(filter.getX(), filter.getY(), event.timestamp);
+    }
+
+    @Override
+    public void onAccuracyChanged(Sensor sensor, int accuracy) {
+        // Nicht benötigt
+    }
+}
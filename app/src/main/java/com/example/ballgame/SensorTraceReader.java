@@ -0,0 +1,91 @@
+package com.example.ballgame;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+// Liest eine Aufzeichnung von SensorTraceWriter. Die Datei wird in den Speicher abgebildet (memory-mapped),
+// die Frames werden direkt aus der Abbildung gelesen: kein Kopieren, keine Objekte pro Frame, auch bei großen Dateien.
+// Wurde die Datei nicht sauber geschlossen (App beendet), zählen alle vollständigen Frames bis zum Dateiende.
+public class SensorTraceReader implements Closeable {
+    private final RandomAccessFile file;
+    private final MappedByteBuffer buffer;
+    private final long seed;
+    private final int mode;
+    private final int recordCount;
+
+    public SensorTraceReader(File file) throws IOException {
+        this.file = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = this.file.getChannel();
+            long size = channel.size();
+            if (size < SensorTraceWriter.HEADER_BYTES) {
+                throw new IOException("Keine Sensoraufzeichnung: " + file);
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Aufzeichnung zu groß: " + size + " Bytes");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt(0) != SensorTraceWriter.MAGIC) {
+                throw new IOException("Keine Sensoraufzeichnung: " + file);
+            }
+            int version = buffer.getInt(4);
+            int recordBytes = buffer.getInt(24);
+            if (version != SensorTraceWriter.VERSION || recordBytes != SensorTraceWriter.RECORD_BYTES) {
+                throw new IOException("Nicht unterstützte Aufzeichnung: Version " + version + ", " + recordBytes + " Bytes pro Frame");
+            }
+            seed = buffer.getLong(8);
+            mode = buffer.getInt(SensorTraceWriter.MODE_OFFSET);
+            long available = (size - SensorTraceWriter.HEADER_BYTES) / SensorTraceWriter.RECORD_BYTES;
+            long count = buffer.getLong(SensorTraceWriter.COUNT_OFFSET);
+            recordCount = (int) ((count < 0 || count > available) ? available : count);
+        } catch (IOException | RuntimeException e) {
+            this.file.close();
+            throw e;
+        }
+    }
+
+    // Seed der aufgezeichneten GameEngine
+    public long getSeed() {
+        return seed;
+    }
+
+    // Spielmodus der aufgezeichneten GameEngine (GameEngine.MODE_*)
+    public int getMode() {
+        return mode;
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    public long getFrameNanos(int frame) {
+        return buffer.getInt(offset(frame));
+    }
+
+    public float getTiltX(int frame) {
+        return buffer.getFloat(offset(frame) + 4);
+    }
+
+    public float getTiltY(int frame) {
+        return buffer.getFloat(offset(frame) + 8);
+    }
+
+    private int offset(int frame) {
+        if (frame < 0 || frame >= recordCount) {
+            throw new IndexOutOfBoundsException("Frame außerhalb der Aufzeichnung: " + frame);
+        }
+        return SensorTraceWriter.HEADER_BYTES + frame * SensorTraceWriter.RECORD_BYTES;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.ballgame;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+// Zeichnet eine Spielsitzung als Binärdatei auf, damit sie mit TraceReplay exakt wiederholt werden kann.
+// Aufgezeichnet wird, was die GameEngine pro Frame bekommen hat: Frame-Dauer und gefilterte Neigung. Die rohen
+// Sensorereignisse allein reichen nicht, denn welcher Wert in welchem Frame gilt, hängt vom Timing der Threads ab.
+//
+// Format (Little Endian): Kopf mit HEADER_BYTES Bytes
+//   int MAGIC, int VERSION, long Seed der GameEngine, long Anzahl der Frames (-1 = nicht sauber geschlossen),
+//   int RECORD_BYTES, int Spielmodus (GameEngine.MODE_*)
+// danach pro Frame RECORD_BYTES Bytes: int Frame-Dauer in ns, float tiltX, float tiltY.
+// Eine Stunde mit 60 Hz sind damit etwa 2,6 MB.
+public class SensorTraceWriter implements Closeable {
+    public static final int MAGIC = 0x52544742; // "BGTR"
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 32;
+    public static final int RECORD_BYTES = 12;
+    static final int COUNT_OFFSET = 16;
+    static final int MODE_OFFSET = 28;
+    private static final int BUFFERED_RECORDS = 4096; // Geschrieben wird nur, wenn der Puffer voll ist
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long recordCount;
+
+    public SensorTraceWriter(File file, long seed) throws IOException {
+        this(file, seed, GameEngine.MODE_LEVELS);
+    }
+
+    public SensorTraceWriter(File file, long seed, int mode) throws IOException {
+        this.file = new RandomAccessFile(file, "rw");
+        this.file.setLength(0);
+        this.channel = this.file.getChannel();
+        this.buffer = ByteBuffer.allocateDirect(BUFFERED_RECORDS * RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(seed).putLong(-1L).putInt(RECORD_BYTES).putInt(mode);
+        flush();
+    }
+
+    // Ein Frame, wie er an GameEngine.step übergeben wurde. Legt keine Objekte an.
+    public void append(long frameNanos, float tiltX, float tiltY) throws IOException {
+        if (frameNanos < 0 || frameNanos > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Ungültige Frame-Dauer: " + frameNanos);
+        }
+        if (buffer.remaining() < RECORD_BYTES) {
+            flush();
+        }
+        buffer.putInt((int) frameNanos).putFloat(tiltX).putFloat(tiltY);
+        recordCount++;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    // Schreibt die gepufferten Frames in die Datei, z.B. wenn das Spiel in den Hintergrund geht
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Schreibt den Rest und trägt die Anzahl der Frames in den Kopf ein
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            buffer.putLong(recordCount).flip();
+            channel.write(buffer, COUNT_OFFSET);
+        } finally {
+            file.close();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.ballgame;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.LruCache;
+
+// Prozessweiter Cache für skalierte Sprites, Schlüssel ist (Drawable, Breite, Höhe).
+// Die Kacheln werden so nur einmal pro Kachelgröße dekodiert und skaliert, statt bei jeder neuen GameView.
+// Die Größe ist in Bytes begrenzt; bei Überschreitung fällt das am längsten nicht benutzte Sprite heraus.
+public final class SpriteCache {
+    private static final String TAG = "SpriteCache";
+    private static final int MEMORY_FRACTION = 16; // Anteil am maximalen Heap der App
+
+    private static SpriteCache instance;
+
+    private final Resources resources;
+    private final LruCache<Long, Bitmap> cache;
+    private final BitmapFactory.Options options = new BitmapFactory.Options();
+    private Bitmap decodeBuffer; // Wird über inBitmap für das nächste Dekodieren wiederverwendet
+
+    private SpriteCache(Resources resources, int maxBytes) {
+        this.resources = resources;
+        this.cache = new LruCache<Long, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(Long key, Bitmap bitmap) {
+                return bitmap.getAllocationByteCount();
+            }
+            // Verdrängte Bitmaps werden nicht recycelt: eine GameView kann sie noch zeichnen, der GC gibt sie frei
+        };
+    }
+
+    public static synchronized SpriteCache get(Context context) {
+        if (instance == null) {
+            int maxBytes = (int) Math.min(Runtime.getRuntime().maxMemory() / MEMORY_FRACTION, Integer.MAX_VALUE);
+            instance = new SpriteCache(context.getApplicationContext().getResources(), maxBytes);
+        }
+        return instance;
+    }
+
+    // Liefert das Drawable in der angegebenen Größe. Für deckende Kacheln spart Bitmap.Config.RGB_565
+    // die Hälfte des Speichers; Sprites mit Transparenz (z.B. der Ball) brauchen ARGB_8888.
+    public synchronized Bitmap getSprite(int resId, int width, int height, Bitmap.Config config) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Ungültige Spritegröße: " + width + "x" + height);
+        }
+        long key = key(resId, width, height, config);
+        Bitmap sprite = cache.get(key);
+        if (sprite == null) {
+            sprite = decodeScaled(resId, width, height, config);
+            cache.put(key, sprite);
+        }
+        return sprite;
+    }
+
+    private Bitmap decodeScaled(int resId, int width, int height, Bitmap.Config config) {
+        options.inScaled = false; // Auf die Zielgröße wird ohnehin skaliert
+        options.inPreferredConfig = config;
+        options.inMutable = true; // Voraussetzung dafür, dass der Puffer später als inBitmap dienen kann
+        options.inBitmap = (decodeBuffer != null && decodeBuffer.getConfig() == config) ? decodeBuffer : null;
+
+        Bitmap decoded;
+        try {
+            decoded = BitmapFactory.decodeResource(resources, resId, options);
+        } catch (IllegalArgumentException e) {
+            // Puffer passt nicht (zu klein oder anderes Format), ohne Wiederverwendung dekodieren
+            options.inBitmap = null;
+            decoded = BitmapFactory.decodeResource(resources, resId, options);
+        }
+        options.inBitmap = null;
+        if (decoded == null) {
+            throw new IllegalArgumentException("Drawable kann nicht dekodiert werden: " + resId);
+        }
+
+        if (decoded.getWidth() == width && decoded.getHeight() == height) {
+            if (decoded == decodeBuffer) {
+                decodeBuffer = null; // Der Puffer wird selbst zum Sprite und darf nicht mehr überschrieben werden
+            }
+            return decoded;
+        }
+        Bitmap scaled = Bitmap.createScaledBitmap(decoded, width, height, true);
+        decodeBuffer = decoded; // Die unskalierte Bitmap wird nur noch als Puffer für das nächste Dekodieren gebraucht
+        return scaled;
+    }
+
+    // Statistik, z.B. für Logs oder das Debug-Overlay
+    public synchronized int getHitCount() {
+        return cache.hitCount();
+    }
+
+    public synchronized int getMissCount() {
+        return cache.missCount();
+    }
+
+    public synchronized int getEvictionCount() {
+        return cache.evictionCount();
+    }
+
+    public synchronized float getHitRate() {
+        int total = cache.hitCount() + cache.missCount();
+        return (total == 0) ? 0f : (float) cache.hitCount() / total;
+    }
+
+    public synchronized int getSizeBytes() {
+        return cache.size();
+    }
+
+    public synchronized int getMaxSizeBytes() {
+        return cache.maxSize();
+    }
+
+    // Gibt den gesamten Cache frei, z.B. bei onTrimMemory
+    public synchronized void clear() {
+        cache.evictAll();
+        decodeBuffer = null;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return TAG + "[hits=" + cache.hitCount() + ", misses=" + cache.missCount() + ", evictions=" + cache.evictionCount()
+                + ", bytes=" + cache.size() + "/" + cache.maxSize() + "]";
+    }
+
+    // resId belegt die oberen 32 Bit; Breite und Höhe je 15 Bit, das unterste Bit unterscheidet das Format
+    private static long key(int resId, int width, int height, Bitmap.Config config) {
+        return ((long) resId << 32) | ((long) (width & 0x7FFF) << 16) | ((height & 0x7FFF) << 1)
+                | (config == Bitmap.Config.RGB_565 ? 1 : 0);
+    }
+}
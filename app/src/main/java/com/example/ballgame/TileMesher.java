@@ -0,0 +1,105 @@
+package com.example.ballgame;
+
+import java.util.Arrays;
+
+// Fasst benachbarte Kacheln gleichen Typs zu möglichst großen Rechtecken zusammen (Greedy Meshing).
+// Statt eines drawBitmap pro Kachel braucht GameView dann nur einen drawRect pro Rechteck; die Wände, die den
+// Großteil des Labyrinths ausmachen, schrumpfen dabei auf einen Bruchteil der Aufrufe.
+// Die Rechtecke liegen in wiederverwendeten int-Arrays (Kachelkoordinaten), es entstehen keine Objekte pro Rechteck.
+public class TileMesher {
+    private int[] rectX = new int[64], rectY = new int[64], rectWidth = new int[64], rectHeight = new int[64];
+    private byte[] rectType = new byte[64];
+    private int count;
+    private boolean[] covered = new boolean[0]; // Schon einem Rechteck zugeordnete Kacheln des Ausschnitts
+
+    // Zerlegt den Ausschnitt (x0, y0, columns, rows) des Labyrinths in Rechtecke gleichen Kacheltyps.
+    // Zeilenweise: Jede noch freie Kachel startet ein Rechteck, das zuerst so weit wie möglich nach rechts und
+    // dann Zeile für Zeile nach unten wächst, solange die ganze Breite denselben Typ hat.
+    public void mesh(MazeGrid maze, int x0, int y0, int columns, int rows) {
+        if (columns < 0 || rows < 0 || !maze.contains(x0, y0) || !maze.contains(x0 + columns - 1, y0 + rows - 1)) {
+            throw new IllegalArgumentException("Ausschnitt außerhalb des Labyrinths: " + x0 + "," + y0 + " " + columns + "x" + rows);
+        }
+        if (covered.length < columns * rows) {
+            covered = new boolean[columns * rows];
+        } else {
+            Arrays.fill(covered, 0, columns * rows, false);
+        }
+        count = 0;
+
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < columns; x++) {
+                if (covered[y * columns + x]) {
+                    continue;
+                }
+                int type = maze.get(x0 + x, y0 + y);
+
+                int width = 1;
+                while (x + width < columns && !covered[y * columns + x + width] && maze.get(x0 + x + width, y0 + y) == type) {
+                    width++;
+                }
+                int height = 1;
+                while (y + height < rows && rowMatches(maze, x0, y0, columns, x, y + height, width, type)) {
+                    height++;
+                }
+
+                for (int dy = 0; dy < height; dy++) {
+                    Arrays.fill(covered, (y + dy) * columns + x, (y + dy) * columns + x + width, true);
+                }
+                add(x0 + x, y0 + y, width, height, type);
+                x += width - 1;
+            }
+        }
+    }
+
+    private boolean rowMatches(MazeGrid maze, int x0, int y0, int columns, int x, int y, int width, int type) {
+        for (int i = 0; i < width; i++) {
+            if (covered[y * columns + x + i] || maze.get(x0 + x + i, y0 + y) != type) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(int x, int y, int width, int height, int type) {
+        if (count == rectX.length) {
+            int capacity = count * 2;
+            rectX = Arrays.copyOf(rectX, capacity);
+            rectY = Arrays.copyOf(rectY, capacity);
+            rectWidth = Arrays.copyOf(rectWidth, capacity);
+            rectHeight = Arrays.copyOf(rectHeight, capacity);
+            rectType = Arrays.copyOf(rectType, capacity);
+        }
+        rectX[count] = x;
+        rectY[count] = y;
+        rectWidth[count] = width;
+        rectHeight[count] = height;
+        rectType[count] = (byte) type;
+        count++;
+    }
+
+    // Anzahl der Rechtecke aus dem letzten mesh-Aufruf
+    public int size() {
+        return count;
+    }
+
+    // Position und Größe in Kacheln (Labyrinthkoordinaten) und Kacheltyp des Rechtecks i
+    public int getX(int i) {
+        return rectX[i];
+    }
+
+    public int getY(int i) {
+        return rectY[i];
+    }
+
+    public int getWidth(int i) {
+        return rectWidth[i];
+    }
+
+    public int getHeight(int i) {
+        return rectHeight[i];
+    }
+
+    public int getType(int i) {
+        return rectType[i];
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.ballgame;
+
+// Tiefpass für die Werte des Beschleunigungssensors. Glättet das Zittern der Hand, ohne bei unregelmäßigen
+// Abständen der Ereignisse (z.B. nach Batching) anders zu reagieren: der Faktor hängt vom Zeitabstand ab,
+// alpha = dt / (timeConstant + dt). Zeitkonstante 0 schaltet den Filter ab.
+public class TiltFilter {
+    public static final float DEFAULT_TIME_CONSTANT = 0.03f; // Sekunden
+
+    private float timeConstant;
+    private float x, y;
+    private long lastTimestampNanos; // 0 = noch kein Wert
+
+    public TiltFilter() {
+        this(DEFAULT_TIME_CONSTANT);
+    }
+
+    public TiltFilter(float timeConstant) {
+        setTimeConstant(timeConstant);
+    }
+
+    public void setTimeConstant(float timeConstant) {
+        if (timeConstant < 0f) {
+            throw new IllegalArgumentException("Ungültige Zeitkonstante: " + timeConstant);
+        }
+        this.timeConstant = timeConstant;
+    }
+
+    public float getTimeConstant() {
+        return timeConstant;
+    }
+
+    // Nimmt einen Messwert auf; der gefilterte Wert steht danach in getX/getY
+    public void update(float rawX, float rawY, long timestampNanos) {
+        if (lastTimestampNanos == 0 || timeConstant == 0f) {
+            x = rawX;
+            y = rawY;
+        } else {
+            float dt = Math.max(0, timestampNanos - lastTimestampNanos) / 1_000_000_000f;
+            float alpha = dt / (timeConstant + dt);
+            x += alpha * (rawX - x);
+            y += alpha * (rawY - y);
+        }
+        lastTimestampNanos = timestampNanos;
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public float getY() {
+        return y;
+    }
+
+    // Vergisst den Verlauf, der nächste Wert wird ungefiltert übernommen (z.B. nach einer Pause)
+    public void reset() {
+        lastTimestampNanos = 0;
+        x = 0f;
+        y = 0f;
+    }
+}
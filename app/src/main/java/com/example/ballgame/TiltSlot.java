@@ -0,0 +1,47 @@
+package com.example.ballgame;
+
+// Übergabe der Neigung vom Sensor-Thread an den Spiel-Thread ohne Sperren und ohne Objekte pro Wert.
+// Genau ein Thread schreibt (publish), gelesen wird mit read in einen wiederverwendeten Snapshot.
+// Sequenzzähler (Seqlock): Der Schreiber macht die Zahl vor dem Schreiben ungerade und danach wieder gerade;
+// der Leser wiederholt, bis er vorher und nachher dieselbe gerade Zahl sieht. Damit passen x, y und der
+// Zeitstempel immer zusammen. Alle Felder sind volatile, dadurch ist die Reihenfolge der Zugriffe garantiert.
+public class TiltSlot {
+
+    // Vom Leser angelegt und bei jedem read überschrieben
+    public static class Snapshot {
+        public float x, y;
+        public long timestampNanos; // Zeitstempel des Sensorereignisses (elapsedRealtimeNanos), 0 = noch kein Wert
+    }
+
+    private volatile int sequence;
+    private volatile long tilt; // x und y als Float-Bits
+    private volatile long timestampNanos;
+
+    // Nur von einem einzigen Thread aufrufen
+    public void publish(float x, float y, long timestampNanos) {
+        int next = sequence + 1;
+        sequence = next; // ungerade: Schreiben läuft
+        tilt = ((long) Float.floatToRawIntBits(x) << 32) | (Float.floatToRawIntBits(y) & 0xFFFFFFFFL);
+        this.timestampNanos = timestampNanos;
+        sequence = next + 1;
+    }
+
+    public void read(Snapshot snapshot) {
+        long currentTilt, currentTimestamp;
+        int before, after;
+        do {
+            before = sequence;
+            currentTilt = tilt;
+            currentTimestamp = timestampNanos;
+            after = sequence;
+        } while (before != after || (before & 1) != 0);
+        snapshot.x = Float.intBitsToFloat((int) (currentTilt >>> 32));
+        snapshot.y = Float.intBitsToFloat((int) currentTilt);
+        snapshot.timestampNanos = currentTimestamp;
+    }
+
+    // Setzt die Neigung auf 0 (z.B. wenn der Sensor abgemeldet wird); ebenfalls nur vom Schreiber aufrufen
+    public void clear() {
+        publish(0f, 0f, 0L);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.ballgame;
+
+// Spielt eine Aufzeichnung (SensorTraceReader) so schnell wie möglich mit einer neuen GameEngine nach.
+// Gleicher Seed und gleiche Eingaben ergeben dasselbe Spiel, daher lässt sich dieselbe Sitzung über mehrere
+// Builds hinweg profilieren und vergleichen. Die Zähler dienen als Kontrolle, dass wirklich dasselbe passiert ist.
+public class TraceReplay {
+    private final SensorTraceReader trace;
+    private GameEngine engine;
+    private int levelsCompleted;
+    private int holes;
+    private int gamesOver;
+
+    public TraceReplay(SensorTraceReader trace) {
+        this.trace = trace;
+    }
+
+    // Spielt alle Frames ab und gibt die Engine im Endzustand zurück
+    public GameEngine run() {
+        engine = new GameEngine(GameEngine.DIRECT_LEVELS, trace.getSeed(), trace.getMode());
+        levelsCompleted = 0;
+        holes = 0;
+        gamesOver = 0;
+        int frames = trace.size();
+        for (int frame = 0; frame < frames; frame++) {
+            int events = engine.step(trace.getTiltX(frame), trace.getTiltY(frame), trace.getFrameNanos(frame));
+            if ((events & GameEngine.LEVEL_COMPLETED) != 0) {
+                levelsCompleted++;
+            }
+            if ((events & GameEngine.FELL_INTO_HOLE) != 0) {
+                holes++;
+            }
+            if ((events & GameEngine.GAME_OVER) != 0) {
+                gamesOver++;
+            }
+        }
+        return engine;
+    }
+
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    public int getLevelsCompleted() {
+        return levelsCompleted;
+    }
+
+    public int getHoles() {
+        return holes;
+    }
+
+    public int getGamesOver() {
+        return gamesOver;
+    }
+}
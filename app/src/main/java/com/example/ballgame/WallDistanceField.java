@@ -0,0 +1,159 @@
+package com.example.ballgame;
+
+// Abstand zur nächsten Wand für jedes Teilfeld des Labyrinths, einmal pro Labyrinth berechnet.
+// Jede Kachel ist in SAMPLES_PER_TILE x SAMPLES_PER_TILE Teilfelder zerlegt; gespeichert wird der euklidische
+// Abstand vom Mittelpunkt des Teilfelds zum Mittelpunkt des nächsten Wand-Teilfelds, in Teilfeldern und
+// abgerundet (ein Byte, höchstens 255). Wände sind dieselben wie in BallPhysics: WALL-Kacheln, die Randwand und
+// die letzte Zeile und Spalte.
+//
+// Berechnet wird in linearer Zeit mit der exakten Distanztransformation nach Meijster: erst pro Spalte der
+// Abstand zur nächsten Wand darüber oder darunter, dann pro Zeile die untere Hülle der Parabeln.
+// Alle Puffer werden wiederverwendet, solange das Labyrinth nicht größer wird.
+// Das Feld kann auf einen Bereich des Labyrinths beschränkt werden; alles außerhalb gilt dann als Wand. Die Abstände
+// am Rand des Bereichs sind damit zu klein, nie zu groß, und die schnelle Abfrage bleibt auf der sicheren Seite.
+public class WallDistanceField {
+    public static final int SAMPLES_PER_TILE = 4;
+    private static final int MAX_DISTANCE = 255;
+
+    private byte[] distances = new byte[0];
+    private int[] vertical = new int[0]; // Abstand zur nächsten Wand in der Spalte
+    private int[] parabolaStart = new int[0], parabolaIndex = new int[0]; // Hülle der Parabeln einer Zeile
+    private int columns, rows; // In Teilfeldern
+    private int originX, originY; // Linke obere Ecke des Bereichs in Teilfeldern des Labyrinths
+
+    public void build(MazeGrid maze) {
+        build(maze, 0, 0, maze.getWidth(), maze.getHeight());
+    }
+
+    // Nur für den Bereich ab Kachel (tileX, tileY) mit tileColumns x tileRows Kacheln
+    public void build(MazeGrid maze, int tileX, int tileY, int tileColumns, int tileRows) {
+        if (tileColumns <= 0 || tileRows <= 0) {
+            throw new IllegalArgumentException("Ungültiger Bereich: " + tileColumns + "x" + tileRows);
+        }
+        columns = tileColumns * SAMPLES_PER_TILE;
+        rows = tileRows * SAMPLES_PER_TILE;
+        originX = tileX * SAMPLES_PER_TILE;
+        originY = tileY * SAMPLES_PER_TILE;
+        int size = columns * rows;
+        if (distances.length < size) {
+            distances = new byte[size];
+            vertical = new int[size];
+        }
+        if (parabolaStart.length < columns) {
+            parabolaStart = new int[columns];
+            parabolaIndex = new int[columns];
+        }
+
+        // Phase 1: pro Spalte von oben und von unten. "infinity" ist größer als jeder mögliche Abstand.
+        // Alle Spalten laufen zeilenweise gemeinsam, damit der Speicher der Reihe nach gelesen wird.
+        int infinity = columns + rows;
+        for (int y = 0; y < rows; y++) {
+            int row = y * columns;
+            int rowTile = tileY + y / SAMPLES_PER_TILE;
+            for (int column = 0; column < tileColumns; column++) {
+                boolean wall = isWall(maze, tileX + column, rowTile);
+                for (int x = column * SAMPLES_PER_TILE; x < (column + 1) * SAMPLES_PER_TILE; x++) {
+                    vertical[row + x] = wall ? 0 : (y == 0) ? infinity : Math.min(infinity, vertical[row - columns + x] + 1);
+                }
+            }
+        }
+        for (int y = rows - 2; y >= 0; y--) {
+            int row = y * columns;
+            for (int x = 0; x < columns; x++) {
+                int below = vertical[row + columns + x] + 1;
+                if (below < vertical[row + x]) {
+                    vertical[row + x] = below;
+                }
+            }
+        }
+
+        // Phase 2: pro Zeile das Minimum von (x - i)² + vertical(i)² über alle i
+        for (int y = 0; y < rows; y++) {
+            int row = y * columns;
+            int q = 0;
+            parabolaIndex[0] = 0;
+            parabolaStart[0] = 0;
+            for (int u = 1; u < columns; u++) {
+                while (q >= 0 && parabola(row, parabolaStart[q], parabolaIndex[q]) > parabola(row, parabolaStart[q], u)) {
+                    q--;
+                }
+                if (q < 0) {
+                    q = 0;
+                    parabolaIndex[0] = u;
+                } else {
+                    int start = 1 + separation(row, parabolaIndex[q], u);
+                    if (start < columns) {
+                        q++;
+                        parabolaIndex[q] = u;
+                        parabolaStart[q] = start;
+                    }
+                }
+            }
+            int edgeY = Math.min(y + 1, rows - y);
+            for (int u = columns - 1; u >= 0; u--) {
+                int squared = parabola(row, u, parabolaIndex[q]);
+                // Nicht weiter als bis zum nächsten Teilfeld außerhalb des Bereichs (dort könnte eine Wand sein)
+                int edge = Math.min(edgeY, Math.min(u + 1, columns - u));
+                distances[row + u] = (byte) Math.min(Math.min(MAX_DISTANCE, edge), (int) Math.sqrt(squared));
+                if (u == parabolaStart[q]) {
+                    q--;
+                }
+            }
+        }
+    }
+
+    // Quadrierter Abstand von Teilfeld x zur nächsten Wand in Spalte i (beide in der Zeile "row")
+    private int parabola(int row, int x, int i) {
+        int g = vertical[row + i];
+        return (x - i) * (x - i) + g * g;
+    }
+
+    // Erstes x, ab dem die Parabel von u nicht mehr über der von i liegt (abgerundet)
+    private int separation(int row, int i, int u) {
+        int gi = vertical[row + i];
+        int gu = vertical[row + u];
+        return Math.floorDiv(u * u - i * i + gu * gu - gi * gi, 2 * (u - i));
+    }
+
+    // Randwand, letzte Zeile und Spalte und alles außerhalb des Rasters sind Wand
+    private static boolean isWall(MazeGrid maze, int tileX, int tileY) {
+        if (tileX < 1 || tileX >= maze.getWidth() - 1 || tileY < 1 || tileY >= maze.getHeight() - 1) {
+            return true;
+        }
+        return maze.get(tileX, tileY) == MazeGenerator.WALL;
+    }
+
+    // Mindestwert im Feld, ab dem ein Kreis mit dem Radius (in Kacheln) um einen beliebigen Punkt des Teilfelds
+    // sicher keine Wand berührt. Punkt und Wand liegen je höchstens eine halbe Diagonale (√2/2 Teilfelder) vom
+    // Mittelpunkt ihres Teilfelds entfernt, daher der Zuschlag von √2; dazu etwas Spielraum für Rundungsfehler.
+    public static int clearanceFor(float radiusInTiles) {
+        return (int) Math.ceil(radiusInTiles * SAMPLES_PER_TILE + Math.sqrt(2) + 0.01);
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    // Lage des Bereichs in Teilfeldern des ganzen Labyrinths; get erwartet Koordinaten relativ dazu
+    public int getOriginX() {
+        return originX;
+    }
+
+    public int getOriginY() {
+        return originY;
+    }
+
+    // Abstand des Teilfelds (sampleX, sampleY) des Bereichs zur nächsten Wand in Teilfeldern, 0 in der Wand
+    public int get(int sampleX, int sampleY) {
+        return distances[sampleY * columns + sampleX] & 0xFF;
+    }
+
+    // Wie get, mit flachem Index (zeilenweise) für die schnelle Abfrage in BallPhysics
+    public int get(int index) {
+        return distances[index] & 0xFF;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.ballgame;
+
+import java.util.Random;
+
+// Wilson-Algorithmus: erzeugt einen gleichverteilten Spannbaum über schleifenbereinigte Zufallswege.
+// Von jeder Zelle außerhalb des Baums läuft ein Zufallsweg, bis er den Baum trifft; Schleifen verschwinden
+// von selbst, weil für jede Zelle nur die zuletzt gewählte Richtung gespeichert wird.
+// Unverzerrte Gänge, aber zu Beginn langsamer als die anderen Algorithmen.
+public class WilsonAlgorithm implements MazeAlgorithm {
+    private boolean[] inTree;
+    private int[] next; // Zuletzt gewählter Nachfolger jeder Zelle auf dem aktuellen Zufallsweg
+
+    @Override
+    public void carve(MazeGrid maze, Random random) {
+        int columns = MazeLattice.columns(maze);
+        int rows = MazeLattice.rows(maze);
+        int cells = columns * rows;
+        if (inTree == null || inTree.length < cells) {
+            inTree = new boolean[cells];
+            next = new int[cells];
+        }
+        for (int i = 0; i < cells; i++) {
+            inTree[i] = false;
+        }
+
+        int root = random.nextInt(cells);
+        inTree[root] = true;
+        MazeLattice.carveCell(maze, root % columns, root / columns);
+
+        for (int start = 0; start < cells; start++) {
+            if (inTree[start]) {
+                continue;
+            }
+            // Zufallsweg bis zum Baum
+            int cell = start;
+            while (!inTree[cell]) {
+                int step = randomNeighbour(cell, columns, rows, random);
+                next[cell] = step;
+                cell = step;
+            }
+            // Schleifenfreien Weg in den Baum übernehmen
+            cell = start;
+            while (!inTree[cell]) {
+                int step = next[cell];
+                inTree[cell] = true;
+                MazeLattice.carveCell(maze, cell % columns, cell / columns);
+                MazeLattice.carvePassage(maze, cell % columns, cell / columns, step % columns, step / columns);
+                cell = step;
+            }
+        }
+    }
+
+    private static int randomNeighbour(int cell, int columns, int rows, Random random) {
+        int x = cell % columns, y = cell / columns;
+        while (true) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    if (x + 1 < columns) return cell + 1;
+                    break;
+                case 1:
+                    if (x > 0) return cell - 1;
+                    break;
+                case 2:
+                    if (y + 1 < rows) return cell + columns;
+                    break;
+                default:
+                    if (y > 0) return cell - columns;
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public int getId() {
+        return WILSON;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.ballgame;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+// Stellt sicher, dass die Arbeit pro Frame keine Objekte anlegt. Gefahren wird derselbe Weg wie in GameView.doFrame:
+// GameEngine.step mit Neigung und Teilschritten, Ziel (Levelwechsel), Loch (Neuerzeugung in den vorhandenen
+// Puffern) und Ablauf der Zeit, danach die interpolierte Position und die Frame-Statistik samt Overlay-Text.
+// Gemessen werden die auf diesem Thread allokierten Bytes (HotSpot, com.sun.management.ThreadMXBean).
+public class AllocationFreeTest {
+    private static final int WARMUP_FRAMES = 20_000;
+    private static final int MEASURED_FRAMES = 20_000;
+    private static final long FRAME_NANOS = 1_000_000_000L / 60; // Zwei Physikschritte pro Frame
+    private static final float MAX_TILT = 6f; // m/s²
+    private static final int[] DX = {1, -1, 0, 0};
+    private static final int[] DY = {0, 0, 1, -1};
+    // Spielraum für die Messung selbst; schon ein Objekt pro Frame wären mehrere hundert Kilobyte
+    private static final long TOLERANCE_BYTES = 1024;
+
+    // Im Spiel erzeugt LevelPipeline die Level auf ihrem eigenen Thread. Hier liegen sie vorab bereit, damit nur die
+    // Arbeit des Spiel-Threads gemessen wird; alle haben dieselbe Größe, damit die Puffer nach dem Aufwärmen passen.
+    private final MazeGenerator[] levels = new MazeGenerator[8];
+    private int nextLevel;
+    private final GameEngine.LevelSource pooledLevels = new GameEngine.LevelSource() {
+        @Override
+        public void prefetch(int score, long seed) {
+        }
+
+        @Override
+        public MazeGenerator take(int score, long seed) {
+            return levels[nextLevel++ % levels.length];
+        }
+    };
+
+    private final FrameStats frameStats = new FrameStats();
+    private final char[] overlayText = new char[64];
+
+    // Regler: abwechselnd zum Ziel und in ein Loch, Entfernungen in wiederverwendeten Puffern
+    private int[] distances;
+    private int[] queue;
+    private MazeGenerator distanceLevel;
+    private long distanceSeed;
+    private int targets;
+    private int completed, holes, gameOvers;
+
+    @Test
+    public void engineFramesDoNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue("Allokationsmessung nicht verfügbar", bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue("Allokationsmessung nicht verfügbar", threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = LevelPipeline.generate(0, 1000L + i);
+        }
+        int cells = levels[0].getMaze().size();
+        distances = new int[cells];
+        queue = new int[cells];
+        GameEngine engine = new GameEngine(pooledLevels, 1234L);
+        runFrames(engine, WARMUP_FRAMES); // JIT und Puffer von Engine, Physik und Generatoren aufwärmen
+
+        completed = holes = gameOvers = 0;
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        runFrames(engine, MEASURED_FRAMES);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue("Pro Frame wird Speicher allokiert: " + allocated + " Bytes in " + MEASURED_FRAMES + " Frames",
+                allocated <= TOLERANCE_BYTES);
+        // Alle Ereignisse müssen in der Messung vorgekommen sein, sonst wäre ihr Weg ungeprüft
+        assertTrue("Kein Ziel erreicht", completed > 0);
+        assertTrue("In kein Loch gefallen", holes > 0);
+        assertTrue("Zeit nie abgelaufen", gameOvers > 0);
+    }
+
+    private void runFrames(GameEngine engine, int frames) {
+        for (int frame = 0; frame < frames; frame++) {
+            long start = System.nanoTime();
+            int events = steer(engine);
+            completed += (events & GameEngine.LEVEL_COMPLETED) != 0 ? 1 : 0;
+            holes += (events & GameEngine.FELL_INTO_HOLE) != 0 ? 1 : 0;
+            gameOvers += (events & GameEngine.GAME_OVER) != 0 ? 1 : 0;
+
+            // Wie GameView.drawFrame und drawStatsOverlay: interpolierte Position und Overlay-Text
+            float renderX = engine.interpolateBallX();
+            float renderY = engine.interpolateBallY();
+            if (renderX < 0 || renderY < 0) {
+                throw new AssertionError("Ball außerhalb des Labyrinths");
+            }
+            for (int line = 0; line < FrameStats.OVERLAY_LINES; line++) {
+                frameStats.formatOverlayLine(line, overlayText);
+            }
+            frameStats.recordFrame(FRAME_NANOS, System.nanoTime() - start, 1_000_000L);
+        }
+    }
+
+    // Neigt zum Mittelpunkt der Nachbarkachel, die dem Ziel am nächsten liegt, und simuliert einen Frame.
+    // Jedes zweite Labyrinth wird statt des Ziels das erste Loch angesteuert.
+    private int steer(GameEngine engine) {
+        MazeGenerator level = engine.getLevel();
+        MazeGrid maze = level.getMaze();
+        if (level != distanceLevel || level.getSeed() != distanceSeed) {
+            distanceLevel = level;
+            distanceSeed = level.getSeed();
+            int start = maze.index((int) (engine.getBallX() / GameEngine.TILE_SIZE), (int) (engine.getBallY() / GameEngine.TILE_SIZE));
+            int target = (targets++ % 2 == 0) ? maze.index(level.getGoalX(), level.getGoalY()) : nearestHole(maze, start);
+            computeDistances(maze, target);
+        }
+
+        int tileX = (int) (engine.getBallX() / GameEngine.TILE_SIZE);
+        int tileY = (int) (engine.getBallY() / GameEngine.TILE_SIZE);
+        int targetX = tileX, targetY = tileY;
+        int best = distances[maze.index(tileX, tileY)];
+        for (int direction = 0; direction < 4; direction++) {
+            int x = tileX + DX[direction], y = tileY + DY[direction];
+            int distance = distances[maze.index(x, y)];
+            if (distance >= 0 && (best < 0 || distance < best)) {
+                best = distance;
+                targetX = x;
+                targetY = y;
+            }
+        }
+        float ax = ((targetX + 0.5f) * GameEngine.TILE_SIZE - engine.getBallX()) * 0.2f - engine.getBallVelocityX() * 0.05f;
+        float ay = ((targetY + 0.5f) * GameEngine.TILE_SIZE - engine.getBallY()) * 0.2f - engine.getBallVelocityY() * 0.05f;
+        float tiltX = -Math.max(-MAX_TILT, Math.min(MAX_TILT, ax)); // Die Physik beschleunigt entgegen tiltX
+        float tiltY = Math.max(-MAX_TILT, Math.min(MAX_TILT, ay));
+        return engine.step(tiltX, tiltY, FRAME_NANOS);
+    }
+
+    // Das Loch, das vom Ball aus als erstes erreichbar ist (ein anderes könnte hinter einem Loch liegen)
+    private int nearestHole(MazeGrid maze, int start) {
+        int reached = computeDistances(maze, start);
+        for (int i = 0; i < reached; i++) {
+            int cell = queue[i];
+            for (int direction = 0; direction < 4; direction++) {
+                int x = cell % maze.getWidth() + DX[direction], y = cell / maze.getWidth() + DY[direction];
+                if (maze.contains(x, y) && maze.get(x, y) == MazeGenerator.HOLE) {
+                    return maze.index(x, y);
+                }
+            }
+        }
+        throw new AssertionError("Kein Loch erreichbar");
+    }
+
+    // Breitensuche vom Zielfeld aus, um Wände und Löcher herum; -1 = nicht erreichbar.
+    // Gibt die Anzahl der erreichten Zellen zurück, die in dieser Reihenfolge in queue stehen.
+    private int computeDistances(MazeGrid maze, int target) {
+        Arrays.fill(distances, -1);
+        int head = 0, tail = 0;
+        queue[tail++] = target;
+        distances[target] = 0;
+        while (head < tail) {
+            int cell = queue[head++];
+            int x = cell % maze.getWidth(), y = cell / maze.getWidth();
+            for (int direction = 0; direction < 4; direction++) {
+                int nx = x + DX[direction], ny = y + DY[direction];
+                if (!maze.contains(nx, ny)) {
+                    continue;
+                }
+                int next = maze.index(nx, ny);
+                int tile = maze.get(next);
+                if (distances[next] < 0 && tile != MazeGenerator.WALL && tile != MazeGenerator.HOLE) {
+                    distances[next] = distances[cell] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return tail;
+    }
+}
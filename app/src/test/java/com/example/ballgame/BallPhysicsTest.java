@@ -0,0 +1,158 @@
+package com.example.ballgame;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+// Der Ball darf bei keiner Kachelgröße und keiner Neigung in eine Wand eindringen oder durch sie hindurch tunneln,
+// muss an Wänden entlanggleiten und Löcher und Ziel erkennen, sobald sein Mittelpunkt darauf liegt.
+public class BallPhysicsTest {
+    private static final float STEP_SECONDS = GameEngine.STEP_NANOS / 1_000_000_000f;
+    private static final float MAX_TILT = 9.81f; // Gerät senkrecht gehalten
+
+    @Test
+    public void neverOverlapsWallsAtAnyTileSize() {
+        Random random = new Random(21L);
+        for (int tileSize = 7; tileSize <= 64; tileSize++) {
+            MazeGenerator level = LevelPipeline.generate(tileSize % 4, tileSize);
+            MazeGrid maze = level.getMaze();
+            BallPhysics ball = new BallPhysics(maze, tileSize);
+            ball.reset(level.getSpawnX(), level.getSpawnY());
+            float tiltX = 0f, tiltY = 0f;
+            for (int step = 0; step < 2400; step++) {
+                if (step % 30 == 0) {
+                    // Alle Viertelsekunde eine neue Neigung, jede dritte mit voller Neigung auf beiden Achsen
+                    boolean full = random.nextInt(3) == 0;
+                    tiltX = full ? (random.nextBoolean() ? MAX_TILT : -MAX_TILT) : (random.nextFloat() * 2f - 1f) * MAX_TILT;
+                    tiltY = full ? (random.nextBoolean() ? MAX_TILT : -MAX_TILT) : (random.nextFloat() * 2f - 1f) * MAX_TILT;
+                }
+                int lastTileX = (int) (ball.getX() / tileSize), lastTileY = (int) (ball.getY() / tileSize);
+                ball.storePreviousPosition();
+                ball.step(tiltX, tiltY, STEP_SECONDS);
+                String where = "Kachelgröße " + tileSize + ", Schritt " + step;
+                assertNoOverlap(where, maze, ball, tileSize);
+                // Höchstens eine Kachel pro Schritt und nie über eine Wand hinweg (kein Tunneln)
+                int tileX = (int) (ball.getX() / tileSize), tileY = (int) (ball.getY() / tileSize);
+                assertTrue(where + ": Sprung von " + lastTileX + "," + lastTileY + " nach " + tileX + "," + tileY,
+                        Math.abs(tileX - lastTileX) <= 1 && Math.abs(tileY - lastTileY) <= 1);
+                if (tileX != lastTileX && tileY != lastTileY) {
+                    assertTrue(where + ": diagonal durch eine Wandecke",
+                            !isSolid(maze, tileX, lastTileY) || !isSolid(maze, lastTileX, tileY));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void fullTiltIntoWallDoesNotTunnel() {
+        // Gang der Länge 10 gegen eine einzelne Wandkachel, dahinter wieder Gang
+        for (int tileSize = 7; tileSize <= 64; tileSize++) {
+            MazeGrid maze = corridor(16, 5);
+            maze.set(11, 1, MazeGenerator.WALL);
+            maze.set(11, 2, MazeGenerator.WALL);
+            maze.set(11, 3, MazeGenerator.WALL);
+            BallPhysics ball = new BallPhysics(maze, tileSize);
+            ball.reset(1, 2);
+            for (int step = 0; step < 1200; step++) {
+                ball.step(-100f, 0f, STEP_SECONDS); // Weit über der größten Neigung, der Ball läuft mit MAX_SPEED an
+                assertNoOverlap("Kachelgröße " + tileSize + ", Schritt " + step, maze, ball, tileSize);
+                assertTrue("Kachelgröße " + tileSize + ": durch die Wand", ball.getX() < 11 * tileSize);
+            }
+            assertEquals("Kachelgröße " + tileSize, 0f, ball.getVelocityX(), 1e-3f * tileSize);
+        }
+    }
+
+    @Test
+    public void keepsTangentialVelocityAlongWall() {
+        for (int tileSize = 7; tileSize <= 64; tileSize += 19) {
+            MazeGrid maze = corridor(40, 5);
+            // Gleichzeitig nach oben gegen die Wand und nach rechts geneigt
+            BallPhysics hugging = new BallPhysics(maze, tileSize);
+            hugging.reset(1, 1);
+            // Gleiche Neigung nach rechts mitten im Gang, ohne Wandkontakt
+            BallPhysics free = new BallPhysics(maze, tileSize);
+            free.reset(1, 2);
+            boolean touched = false;
+            for (int step = 0; step < 60; step++) {
+                hugging.step(-5f, -5f, STEP_SECONDS);
+                free.step(-5f, 0f, STEP_SECONDS);
+                String where = "Kachelgröße " + tileSize + ", Schritt " + step;
+                assertNoOverlap(where, maze, hugging, tileSize);
+                touched |= hugging.getY() - hugging.getRadius() < tileSize + 0.01f;
+                assertEquals(where, free.getVelocityX(), hugging.getVelocityX(), 1e-4f * tileSize);
+                assertEquals(where, free.getX(), hugging.getX(), 1e-3f * tileSize);
+            }
+            assertTrue("Kachelgröße " + tileSize + ": Wand nicht erreicht", touched);
+            assertEquals("Kachelgröße " + tileSize, 0f, hugging.getVelocityY(), 1e-3f * tileSize);
+            assertTrue(hugging.getVelocityX() > 0f);
+        }
+    }
+
+    @Test
+    public void detectsHoleAndGoalUnderCenter() {
+        for (int tile : new int[] {MazeGenerator.HOLE, MazeGenerator.GOAL}) {
+            int expected = (tile == MazeGenerator.HOLE) ? BallPhysics.HOLE : BallPhysics.GOAL;
+            for (int tileSize = 7; tileSize <= 64; tileSize += 19) {
+                MazeGrid maze = corridor(16, 5);
+                maze.set(8, 2, tile);
+                BallPhysics ball = new BallPhysics(maze, tileSize);
+                ball.reset(2, 2);
+                assertFalse(ball.isAtHole() || ball.isAtGoal());
+                int result = BallPhysics.NONE;
+                for (int step = 0; step < 600 && result == BallPhysics.NONE; step++) {
+                    result = ball.step(-5f, 0f, STEP_SECONDS);
+                    if (result == BallPhysics.NONE) {
+                        assertTrue("Zu früh erkannt", ball.getX() < 8 * tileSize || ball.getX() >= 9 * tileSize);
+                    }
+                }
+                assertEquals("Kachelgröße " + tileSize, expected, result);
+                assertEquals(8, (int) (ball.getX() / tileSize));
+                assertEquals(tile == MazeGenerator.HOLE, ball.isAtHole());
+                assertEquals(tile == MazeGenerator.GOAL, ball.isAtGoal());
+            }
+        }
+    }
+
+    // Offener Gang über den ganzen spielbaren Bereich, ringsum Wand
+    private static MazeGrid corridor(int width, int height) {
+        MazeGrid maze = new MazeGrid(width, height);
+        maze.fill(MazeGenerator.WALL);
+        for (int y = 1; y < height - 1; y++) {
+            for (int x = 1; x < width - 1; x++) {
+                maze.set(x, y, MazeGenerator.PATH);
+            }
+        }
+        return maze;
+    }
+
+    // Wie BallPhysics.isSolid: Wandkacheln und alles außerhalb des spielbaren Bereichs
+    private static boolean isSolid(MazeGrid maze, int tileX, int tileY) {
+        if (tileX < 1 || tileX >= maze.getWidth() - 1 || tileY < 1 || tileY >= maze.getHeight() - 1) {
+            return true;
+        }
+        return maze.get(tileX, tileY) == MazeGenerator.WALL;
+    }
+
+    // Unabhängig von der Kollisionsauflösung: Abstand des Mittelpunkts zu jeder Wandkachel in Reichweite
+    private static void assertNoOverlap(String where, MazeGrid maze, BallPhysics ball, int tileSize) {
+        float x = ball.getX(), y = ball.getY(), radius = ball.getRadius();
+        int minX = (int) Math.floor((x - radius) / tileSize), maxX = (int) Math.floor((x + radius) / tileSize);
+        int minY = (int) Math.floor((y - radius) / tileSize), maxY = (int) Math.floor((y + radius) / tileSize);
+        for (int tileY = minY; tileY <= maxY; tileY++) {
+            for (int tileX = minX; tileX <= maxX; tileX++) {
+                if (!isSolid(maze, tileX, tileY)) {
+                    continue;
+                }
+                float dx = x - Math.max(tileX * tileSize, Math.min(x, (tileX + 1) * tileSize));
+                float dy = y - Math.max(tileY * tileSize, Math.min(y, (tileY + 1) * tileSize));
+                // Kleine Toleranz für Rundungsfehler beim Herausschieben aus mehreren Kacheln
+                assertTrue(where + ": Ball bei " + x + "," + y + " überlappt Wand " + tileX + "," + tileY,
+                        dx * dx + dy * dy >= radius * radius * 0.999f);
+            }
+        }
+    }
+}
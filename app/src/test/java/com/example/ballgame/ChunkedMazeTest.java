@@ -0,0 +1,139 @@
+package com.example.ballgame;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// Die endlose Welt muss für denselben Seed immer gleich aussehen, auch nachdem Chunks verdrängt und neu erzeugt
+// wurden, und die Gänge müssen über die Chunkgrenzen hinweg zusammenhängen.
+public class ChunkedMazeTest {
+    private static final int SIZE = ChunkedMaze.CHUNK_SIZE;
+
+    @Test
+    public void evictedChunksRegenerateIdentically() {
+        ChunkedMaze world = new ChunkedMaze(42L, 6, 9);
+        byte[] first = snapshot(world.getChunk(3, -2));
+        // Genug andere Chunks anfordern, dass (3, -2) verdrängt wird
+        for (int chunkY = 0; chunkY < 4; chunkY++) {
+            for (int chunkX = 0; chunkX < 4; chunkX++) {
+                world.getChunk(chunkX, chunkY);
+            }
+        }
+        assertTrue("Nichts verdrängt", world.getEvictions() > 0);
+        assertEquals(9, world.getCachedChunkCount());
+        long misses = world.getMisses();
+        assertArrayEquals(first, snapshot(world.getChunk(3, -2)));
+        assertEquals("Chunk war noch im Cache", misses + 1, world.getMisses());
+
+        // Eine zweite Welt mit demselben Seed erzeugt denselben Chunk, unabhängig von der Reihenfolge
+        assertArrayEquals(first, snapshot(new ChunkedMaze(42L, 6, 9).getChunk(3, -2)));
+    }
+
+    @Test
+    public void leastRecentlyUsedChunkIsEvicted() {
+        ChunkedMaze world = new ChunkedMaze(7L, 6, 3);
+        world.getChunk(0, 0);
+        world.getChunk(1, 0);
+        world.getChunk(2, 0);
+        world.getChunk(0, 0); // (1, 0) ist jetzt am längsten unbenutzt
+        world.getChunk(3, 0);
+        assertEquals(1, world.getEvictions());
+
+        long misses = world.getMisses();
+        world.getChunk(0, 0);
+        world.getChunk(2, 0);
+        world.getChunk(3, 0);
+        assertEquals("Verdrängt statt (1, 0)", misses, world.getMisses());
+        world.getChunk(1, 0);
+        assertEquals(misses + 1, world.getMisses());
+    }
+
+    @Test
+    public void openingsMatchAcrossChunkBorders() {
+        ChunkedMaze world = new ChunkedMaze(1234L, 6);
+        for (int chunkY = -2; chunkY <= 2; chunkY++) {
+            for (int chunkX = -2; chunkX <= 2; chunkX++) {
+                int openEast = 0, openSouth = 0;
+                for (int i = 0; i < SIZE; i++) {
+                    // Ostkante: letzte Spalte dieses Chunks gegen erste Spalte des rechten Nachbarn
+                    int x = chunkX * SIZE + SIZE - 1, y = chunkY * SIZE + i;
+                    assertEquals("Ostkante " + chunkX + "," + chunkY + " Zeile " + i,
+                            isOpen(world.getTile(x, y)), isOpen(world.getTile(x + 1, y)));
+                    openEast += isOpen(world.getTile(x, y)) ? 1 : 0;
+                    // Südkante: letzte Zeile gegen erste Zeile des unteren Nachbarn
+                    x = chunkX * SIZE + i;
+                    y = chunkY * SIZE + SIZE - 1;
+                    assertEquals("Südkante " + chunkX + "," + chunkY + " Spalte " + i,
+                            isOpen(world.getTile(x, y)), isOpen(world.getTile(x, y + 1)));
+                    openSouth += isOpen(world.getTile(x, y)) ? 1 : 0;
+                }
+                assertTrue("Ostkante geschlossen", openEast > 0);
+                assertTrue("Südkante geschlossen", openSouth > 0);
+            }
+        }
+    }
+
+    @Test
+    public void worldIsConnectedAcrossChunks() {
+        for (long seed = 0; seed < 20; seed++) {
+            ChunkedMaze world = new ChunkedMaze(seed, 6);
+            // Breitensuche vom Startpunkt über 5 x 5 Chunks um den Ursprung, Wände und Löcher umgehend
+            int chunks = 5, origin = -2 * SIZE, size = chunks * SIZE;
+            boolean[] reached = new boolean[size * size];
+            int[] queue = new int[size * size];
+            int head = 0, tail = 0;
+            int start = (world.getSpawnY() - origin) * size + (world.getSpawnX() - origin);
+            assertTrue("Startpunkt blockiert", isOpen(world.getTile(world.getSpawnX(), world.getSpawnY())));
+            reached[start] = true;
+            queue[tail++] = start;
+            int[] dx = {1, -1, 0, 0}, dy = {0, 0, 1, -1};
+            while (head < tail) {
+                int cell = queue[head++];
+                for (int direction = 0; direction < 4; direction++) {
+                    int x = cell % size + dx[direction], y = cell / size + dy[direction];
+                    if (x < 0 || y < 0 || x >= size || y >= size || reached[y * size + x]
+                            || !isOpen(world.getTile(x + origin, y + origin))) {
+                        continue;
+                    }
+                    reached[y * size + x] = true;
+                    queue[tail++] = y * size + x;
+                }
+            }
+            // Jede freie Zelle im Bereich ist erreichbar
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    if (isOpen(world.getTile(x + origin, y + origin))) {
+                        assertTrue("Seed " + seed + ": Zelle " + (x + origin) + "," + (y + origin) + " nicht erreichbar",
+                                reached[y * size + x]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void copyRegionMatchesTiles() {
+        ChunkedMaze world = new ChunkedMaze(99L, 6);
+        MazeGrid target = new MazeGrid(50, 40);
+        world.copyRegion(target, -37, 13, 50, 40); // Nicht an Chunkgrenzen ausgerichtet
+        for (int y = 0; y < 40; y++) {
+            for (int x = 0; x < 50; x++) {
+                assertEquals(world.getTile(x - 37, y + 13), target.get(x, y));
+            }
+        }
+    }
+
+    private static boolean isOpen(int tile) {
+        return tile != MazeGenerator.WALL && tile != MazeGenerator.HOLE;
+    }
+
+    private static byte[] snapshot(MazeGrid chunk) {
+        byte[] cells = new byte[chunk.size()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = (byte) chunk.get(i);
+        }
+        return cells;
+    }
+}
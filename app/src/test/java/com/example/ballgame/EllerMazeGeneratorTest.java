@@ -0,0 +1,162 @@
+package com.example.ballgame;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+// Der zeilenweise Generator muss über viele Seeds und Größen ein zusammenhängendes Labyrinth ohne Zyklen liefern,
+// die Randwand einhalten und Löcher nur so setzen, dass sie sich nicht berühren und keinen Gang abschneiden.
+public class EllerMazeGeneratorTest {
+    private static final int[] DX = {1, -1, 0, 0};
+    private static final int[] DY = {0, 0, 1, -1};
+
+    @Test
+    public void mazeIsConnectedTree() {
+        for (long seed = 0; seed < 200; seed++) {
+            int width = 6 + 2 * (int) (seed % 15);
+            int height = 6 + 2 * (int) ((seed * 7) % 23);
+            MazeGrid maze = generate(width, height, 0f, seed);
+            String where = "Seed " + seed + ", " + width + "x" + height;
+
+            // Gitterzellen sind 2x2 Pfad, jede Verbindung zwischen zwei Zellen ebenso: ein Baum hat eine Verbindung
+            // weniger als Zellen
+            int cells = ((width - 2) / 4 + 1) * ((height - 2) / 4 + 1);
+            int paths = countOpen(maze);
+            assertEquals(where, cells - 1, (paths - 4 * cells) / 4);
+            assertEquals(where, paths, reachableFrom(maze, 1, 1));
+        }
+    }
+
+    @Test
+    public void borderStaysWall() {
+        for (long seed = 0; seed < 100; seed++) {
+            MazeGrid maze = generate(30, 46, 0.05f, seed);
+            assertEquals(31, maze.getWidth());
+            assertEquals(47, maze.getHeight());
+            for (int x = 0; x < maze.getWidth(); x++) {
+                assertEquals("Seed " + seed + ", oberer Rand", MazeGenerator.WALL, maze.get(x, 0));
+            }
+            for (int y = 0; y < maze.getHeight(); y++) {
+                assertEquals("Seed " + seed + ", linker Rand", MazeGenerator.WALL, maze.get(0, y));
+                assertTrue("Seed " + seed + ", Loch am rechten Rand", maze.get(maze.getWidth() - 1, y) != MazeGenerator.HOLE);
+            }
+        }
+    }
+
+    @Test
+    public void holesNeverTouchAndKeepMazeConnected() {
+        int holes = 0;
+        for (long seed = 0; seed < 200; seed++) {
+            MazeGrid maze = generate(40, 60, 0.05f, seed);
+            int startX = -1, startY = -1;
+            for (int y = 0; y < maze.getHeight(); y++) {
+                for (int x = 0; x < maze.getWidth(); x++) {
+                    if (maze.get(x, y) == MazeGenerator.PATH && startX < 0) {
+                        startX = x;
+                        startY = y;
+                    }
+                    if (maze.get(x, y) != MazeGenerator.HOLE) {
+                        continue;
+                    }
+                    holes++;
+                    // Auch diagonal kein weiteres Loch
+                    for (int dy = -1; dy <= 1; dy++) {
+                        for (int dx = -1; dx <= 1; dx++) {
+                            if ((dx != 0 || dy != 0) && maze.contains(x + dx, y + dy)) {
+                                assertFalse("Seed " + seed + ": Löcher berühren sich bei " + x + "," + y,
+                                        maze.get(x + dx, y + dy) == MazeGenerator.HOLE);
+                            }
+                        }
+                    }
+                }
+            }
+            assertEquals("Seed " + seed, countOpen(maze), reachableFrom(maze, startX, startY));
+        }
+        assertTrue("Keine Löcher erzeugt", holes > 0);
+    }
+
+    @Test
+    public void sameSeedAfterResetGivesSameMaze() {
+        EllerMazeGenerator generator = new EllerMazeGenerator(22, 0.05f, 5L);
+        MazeGrid first = new MazeGrid(generator.getRowLength(), 31);
+        generator.generate(30, writer(first));
+        generator.reset(5L);
+        MazeGrid second = new MazeGrid(generator.getRowLength(), 31);
+        generator.generate(30, writer(second));
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i), second.get(i));
+        }
+    }
+
+    @Test
+    public void streamsRowsWithoutGrowingState() {
+        final EllerMazeGenerator generator = new EllerMazeGenerator(40, 0.02f, 3L);
+        final byte[][] rowArray = new byte[1][];
+        final int[] rows = new int[1];
+        generator.generate(200_000, new EllerMazeGenerator.RowConsumer() {
+            @Override
+            public void onRow(int y, byte[] row) {
+                assertEquals(rows[0], y); // In Reihenfolge, ohne Lücken
+                if (rowArray[0] == null) {
+                    rowArray[0] = row;
+                }
+                assertSame(rowArray[0], row); // Immer derselbe Puffer
+                assertEquals(generator.getRowLength(), row.length);
+                rows[0]++;
+            }
+        });
+        assertEquals(200_001, rows[0]);
+        assertEquals(200_001, generator.getNextY());
+    }
+
+    private static MazeGrid generate(int width, int height, float holeChance, long seed) {
+        EllerMazeGenerator generator = new EllerMazeGenerator(width, holeChance, seed);
+        MazeGrid maze = new MazeGrid(generator.getRowLength(), height + 1);
+        generator.generate(height, writer(maze));
+        return maze;
+    }
+
+    private static EllerMazeGenerator.RowConsumer writer(final MazeGrid maze) {
+        return new EllerMazeGenerator.RowConsumer() {
+            @Override
+            public void onRow(int y, byte[] row) {
+                maze.setRow(y, row);
+            }
+        };
+    }
+
+    private static boolean isOpen(int tile) {
+        return tile != MazeGenerator.WALL && tile != MazeGenerator.HOLE;
+    }
+
+    private static int countOpen(MazeGrid maze) {
+        int open = 0;
+        for (int i = 0; i < maze.size(); i++) {
+            open += isOpen(maze.get(i)) ? 1 : 0;
+        }
+        return open;
+    }
+
+    // Breitensuche über Pfadzellen, Anzahl der erreichten Zellen
+    private static int reachableFrom(MazeGrid maze, int startX, int startY) {
+        boolean[] reached = new boolean[maze.size()];
+        int[] queue = new int[maze.size()];
+        int head = 0, tail = 0;
+        queue[tail++] = maze.index(startX, startY);
+        reached[queue[0]] = true;
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int direction = 0; direction < 4; direction++) {
+                int x = cell % maze.getWidth() + DX[direction], y = cell / maze.getWidth() + DY[direction];
+                if (maze.contains(x, y) && !reached[maze.index(x, y)] && isOpen(maze.get(x, y))) {
+                    reached[maze.index(x, y)] = true;
+                    queue[tail++] = maze.index(x, y);
+                }
+            }
+        }
+        return tail;
+    }
+}
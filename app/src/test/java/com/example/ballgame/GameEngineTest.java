@@ -0,0 +1,187 @@
+package com.example.ballgame;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+// Spielt mit der GameEngine ohne Android ganze Spiele durch: ein einfacher Regler neigt das Gerät entlang des
+// kürzesten Wegs zum Ziel, so wie ein Spieler durch die Gänge steuert.
+public class GameEngineTest {
+    private static final long FRAME_NANOS = 1_000_000_000L / 60;
+    private static final float MAX_TILT = 6f; // m/s²
+    private static final int[] DX = {1, -1, 0, 0};
+    private static final int[] DY = {0, 0, 1, -1};
+
+    // Entfernung zum Ziel pro Zelle für das aktuelle Labyrinth des Reglers
+    private int[] goalDistances;
+    private MazeGenerator distanceLevel;
+    private long distanceSeed;
+    private float lastTiltX, lastTiltY; // Neigung des letzten Frames, um eine zweite Engine gleich zu steuern
+
+    @Test
+    public void controllerCompletesLevels() {
+        GameEngine engine = new GameEngine(1234L);
+        int completed = 0;
+        for (int frame = 0; frame < 60 * 60; frame++) { // Ein Spiel von 60 Sekunden
+            int events = steer(engine);
+            if ((events & GameEngine.LEVEL_COMPLETED) != 0) {
+                completed++;
+            }
+            if ((events & GameEngine.GAME_OVER) != 0) {
+                break;
+            }
+        }
+        assertTrue("Kein Level geschafft", completed > 0);
+    }
+
+    @Test
+    public void sameSeedAndInputsReplayIdentically() {
+        GameEngine first = new GameEngine(99L);
+        GameEngine second = new GameEngine(99L);
+        for (int frame = 0; frame < 5_000; frame++) {
+            assertEquals(steer(first), steer(second));
+        }
+        assertEquals(first.getScore(), second.getScore());
+        assertEquals(first.getLevel().getSeed(), second.getLevel().getSeed());
+        assertEquals(first.getBallX(), second.getBallX(), 0f);
+        assertEquals(first.getBallY(), second.getBallY(), 0f);
+    }
+
+    @Test
+    public void endlessModeShiftsWindowWithBall() {
+        GameEngine engine = new GameEngine(GameEngine.DIRECT_LEVELS, 31L, GameEngine.MODE_ENDLESS);
+        GameEngine twin = new GameEngine(GameEngine.DIRECT_LEVELS, 31L, GameEngine.MODE_ENDLESS);
+        assertNull(engine.getLevel());
+        MazeGrid window = engine.getMaze();
+        int shifts = 0;
+        int events = GameEngine.WORLD_SHIFTED; // Erstes Ziel wählen
+        for (int frame = 0; frame < 50 * 60; frame++) { // Weniger als ein Spiel, der Score bleibt erhalten
+            boolean newTarget = (events & (GameEngine.WORLD_SHIFTED | GameEngine.FELL_INTO_HOLE)) != 0;
+            events = steerEast(engine, newTarget);
+            assertEquals(events, twin.step(lastTiltX, lastTiltY, FRAME_NANOS));
+            if ((events & GameEngine.WORLD_SHIFTED) != 0) {
+                shifts++;
+            }
+            // Der Ball bleibt im mittleren Chunk des Ausschnitts, das Raster bleibt dasselbe
+            assertSame(window, engine.getMaze());
+            assertEquals(GameEngine.WINDOW_CHUNKS / 2, (int) (engine.getBallX() / GameEngine.TILE_SIZE) / ChunkedMaze.CHUNK_SIZE);
+            assertEquals(GameEngine.WINDOW_CHUNKS / 2, (int) (engine.getBallY() / GameEngine.TILE_SIZE) / ChunkedMaze.CHUNK_SIZE);
+        }
+        assertTrue("Ausschnitt nie verschoben", shifts > 0);
+        assertTrue("Score nicht gestiegen", engine.getScore() > 0);
+        assertEquals(engine.getScore(), twin.getScore());
+        assertEquals(engine.getWindowX(), twin.getWindowX());
+        assertEquals(engine.getBallX(), twin.getBallX(), 0f);
+
+        // Der Ausschnitt zeigt genau die Welt an seiner Position
+        ChunkedMaze world = engine.getWorld();
+        for (int y = 0; y < window.getHeight() - 1; y++) {
+            for (int x = 0; x < window.getWidth() - 1; x++) {
+                assertEquals(world.getTile(engine.getWindowX() + x, engine.getWindowY() + y), window.get(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void timeRunsOutAndStartsNewGame() {
+        GameEngine engine = new GameEngine(7L);
+        long frames = GameEngine.GAME_DURATION_NANOS / FRAME_NANOS;
+        int events = 0;
+        for (long frame = 0; frame <= frames; frame++) {
+            events |= engine.step(0f, 0f, FRAME_NANOS); // Ohne Neigung bleibt der Ball am Start liegen
+        }
+        assertTrue("Zeit nicht abgelaufen", (events & GameEngine.GAME_OVER) != 0);
+        assertEquals(0, engine.getScore());
+        assertTrue(engine.getTimeLeftNanos() > GameEngine.GAME_DURATION_NANOS - 2 * FRAME_NANOS);
+        assertEquals(LevelPipeline.mazeWidth(0), engine.getLevel().getWidth());
+    }
+
+    // Regler für Level: steuert zum Ziel des aktuellen Levels
+    private int steer(GameEngine engine) {
+        MazeGenerator level = engine.getLevel();
+        if (level != distanceLevel || level.getSeed() != distanceSeed) {
+            computeGoalDistances(level.getMaze(), level.getGoalX(), level.getGoalY());
+            distanceLevel = level;
+            distanceSeed = level.getSeed();
+        }
+        return steerAlongDistances(engine);
+    }
+
+    // Regler für den Endlos-Modus: steuert zur erreichbaren Zelle am weitesten rechts im Ausschnitt.
+    // Nach jeder Verschiebung oder einem Loch wird ein neues Ziel gewählt.
+    private int steerEast(GameEngine engine, boolean newTarget) {
+        if (newTarget) {
+            MazeGrid maze = engine.getMaze();
+            computeGoalDistances(maze, (int) (engine.getBallX() / GameEngine.TILE_SIZE), (int) (engine.getBallY() / GameEngine.TILE_SIZE));
+            int target = 0;
+            for (int cell = 0; cell < goalDistances.length; cell++) {
+                if (goalDistances[cell] >= 0 && cell % maze.getWidth() > target % maze.getWidth()) {
+                    target = cell;
+                }
+            }
+            computeGoalDistances(maze, target % maze.getWidth(), target / maze.getWidth());
+        }
+        return steerAlongDistances(engine);
+    }
+
+    // Neigt zum Mittelpunkt der Nachbarkachel, die dem Ziel am nächsten liegt, und simuliert einen Frame
+    private int steerAlongDistances(GameEngine engine) {
+        MazeGrid maze = engine.getMaze();
+        int tileX = (int) (engine.getBallX() / GameEngine.TILE_SIZE);
+        int tileY = (int) (engine.getBallY() / GameEngine.TILE_SIZE);
+        int targetX = tileX, targetY = tileY;
+        int best = goalDistances[maze.index(tileX, tileY)];
+        for (int direction = 0; direction < 4; direction++) {
+            int x = tileX + DX[direction], y = tileY + DY[direction];
+            int distance = goalDistances[maze.index(x, y)];
+            if (distance >= 0 && (best < 0 || distance < best)) {
+                best = distance;
+                targetX = x;
+                targetY = y;
+            }
+        }
+
+        float centerX = (targetX + 0.5f) * GameEngine.TILE_SIZE;
+        float centerY = (targetY + 0.5f) * GameEngine.TILE_SIZE;
+        // Proportional zur Abweichung, gedämpft mit der Geschwindigkeit. Die Physik beschleunigt entgegen tiltX.
+        float ax = (centerX - engine.getBallX()) * 0.2f - engine.getBallVelocityX() * 0.05f;
+        float ay = (centerY - engine.getBallY()) * 0.2f - engine.getBallVelocityY() * 0.05f;
+        float tiltX = -Math.max(-MAX_TILT, Math.min(MAX_TILT, ax));
+        float tiltY = Math.max(-MAX_TILT, Math.min(MAX_TILT, ay));
+        lastTiltX = tiltX;
+        lastTiltY = tiltY;
+        return engine.step(tiltX, tiltY, FRAME_NANOS);
+    }
+
+    // Breitensuche vom Ziel aus, um Wände und Löcher herum; -1 = nicht erreichbar
+    private void computeGoalDistances(MazeGrid maze, int goalX, int goalY) {
+        int size = maze.getWidth() * maze.getHeight();
+        goalDistances = new int[size];
+        Arrays.fill(goalDistances, -1);
+        int[] queue = new int[size];
+        int head = 0, tail = 0;
+        queue[tail++] = maze.index(goalX, goalY);
+        goalDistances[queue[0]] = 0;
+        while (head < tail) {
+            int cell = queue[head++];
+            int x = cell % maze.getWidth(), y = cell / maze.getWidth();
+            for (int direction = 0; direction < 4; direction++) {
+                int nx = x + DX[direction], ny = y + DY[direction];
+                if (!maze.contains(nx, ny)) {
+                    continue;
+                }
+                int next = maze.index(nx, ny);
+                int tile = maze.get(nx, ny);
+                if (goalDistances[next] < 0 && tile != MazeGenerator.WALL && tile != MazeGenerator.HOLE) {
+                    goalDistances[next] = goalDistances[cell] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.ballgame;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+// Ein Levelcode muss über Bytes und Text unverändert zurückkommen, auch mit den größten Seeds, und zu lange oder
+// abgeschnittene Eingaben ablehnen, statt ein anderes Level zu erzeugen.
+public class LevelCodeTest {
+    private static final long[] SEEDS = {
+            0L, 1L, 127L, 128L, 0xFFFFFFFFL, Integer.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, -1L, 0x8000000000000001L
+    };
+
+    @Test
+    public void roundTripsThroughBytesAndText() {
+        for (long seed : SEEDS) {
+            for (int algorithm = MazeAlgorithm.RECURSIVE_BACKTRACKER; algorithm <= MazeAlgorithm.WILSON; algorithm++) {
+                LevelCode code = new LevelCode(seed, 420, Integer.MAX_VALUE, 207, algorithm);
+                assertEquals(code, LevelCode.fromBytes(code.toBytes()));
+                assertEquals(code, LevelCode.parse(code.toString()));
+                assertEquals(code, LevelCode.parse(" " + code.toString().toLowerCase() + "\n"));
+            }
+        }
+    }
+
+    @Test
+    public void codeRecreatesSameLevel() {
+        for (long seed : SEEDS) {
+            MazeGenerator level = LevelPipeline.generate(3, seed);
+            LevelCode code = LevelCode.parse(level.getLevelCode().toString());
+            MazeGeneratorTest.assertSameLevel("Seed " + seed, level, code.createMaze());
+        }
+    }
+
+    @Test
+    public void rejectsOverlongAndTruncatedInput() {
+        byte[] valid = new LevelCode(-1L, 20, 40, 7).toBytes();
+        assertEquals(13, valid.length); // 10 Bytes Seed, je ein Byte für den Rest
+
+        // Zehntes Byte des Seeds mit mehr als Bit 63
+        byte[] tooWide = valid.clone();
+        tooWide[9] = 0x03;
+        assertRejected(tooWide);
+
+        // Elftes Byte für den Seed
+        byte[] tooLong = new byte[valid.length + 1];
+        System.arraycopy(valid, 0, tooLong, 0, 9);
+        tooLong[9] = (byte) 0x81;
+        tooLong[10] = 0x00;
+        System.arraycopy(valid, 10, tooLong, 11, 3);
+        assertRejected(tooLong);
+
+        // Abgeschnitten mitten im Varint bzw. ohne Lochanzahl
+        byte[] truncated = new byte[9];
+        System.arraycopy(valid, 0, truncated, 0, truncated.length);
+        assertRejected(truncated);
+        byte[] missing = new byte[valid.length - 1];
+        System.arraycopy(valid, 0, missing, 0, missing.length);
+        assertRejected(missing);
+
+        // Breite jenseits von int
+        assertRejected(new byte[] {0x01, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x08, 0x28, 0x07});
+    }
+
+    private static void assertRejected(byte[] bytes) {
+        try {
+            LevelCode code = LevelCode.fromBytes(bytes);
+            fail("Angenommen: " + code);
+        } catch (IllegalArgumentException expected) {
+            // Erwartet
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.ballgame;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+// take muss immer das Labyrinth zu Score und Seed liefern, egal ob die Vorab-Erzeugung schon fertig ist, noch läuft
+// oder für einen anderen Seed gestartet wurde.
+public class LevelPipelineTest {
+    @Test
+    public void takeReturnsRequestedLevel() {
+        LevelPipeline pipeline = new LevelPipeline();
+        try {
+            for (int score = 0; score < 12; score++) {
+                long seed = 1000L + score;
+                pipeline.prefetch(score, seed);
+                if (score % 3 == 1) {
+                    pipeline.prefetch(score, seed + 1); // Überholt: take muss trotzdem den angeforderten Seed liefern
+                }
+                // Direkt nach prefetch, die Hintergrunderzeugung läuft meist noch
+                assertSameMaze("Score " + score, LevelPipeline.generate(score, seed), pipeline.take(score, seed));
+            }
+            // Ohne Vorab-Erzeugung
+            assertSameMaze("Ohne prefetch", LevelPipeline.generate(3, 7L), pipeline.take(3, 7L));
+        } finally {
+            pipeline.shutdown();
+        }
+    }
+
+    private static void assertSameMaze(String where, MazeGenerator expected, MazeGenerator actual) {
+        assertEquals(where, expected.getSeed(), actual.getSeed());
+        MazeGrid expectedMaze = expected.getMaze(), actualMaze = actual.getMaze();
+        assertEquals(where, expectedMaze.size(), actualMaze.size());
+        for (int i = 0; i < expectedMaze.size(); i++) {
+            assertEquals(where, expectedMaze.get(i), actualMaze.get(i));
+        }
+    }
+}
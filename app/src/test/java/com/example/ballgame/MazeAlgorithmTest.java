@@ -0,0 +1,80 @@
+package com.example.ballgame;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// Jeder Algorithmus muss über viele Seeds und Größen einen Spannbaum auf dem Gitter aus MazeLattice graben: alle
+// Gitterzellen erreicht, genau eine Verbindung weniger als Zellen, und nichts außerhalb der Zellen und Durchgänge.
+public class MazeAlgorithmTest {
+    private static final int[] IDS = {
+            MazeAlgorithm.RECURSIVE_BACKTRACKER, MazeAlgorithm.KRUSKAL, MazeAlgorithm.PRIM, MazeAlgorithm.WILSON
+    };
+
+    @Test
+    public void carvesSpanningTree() {
+        for (int id : IDS) {
+            MazeAlgorithm algorithm = MazeAlgorithm.create(id);
+            assertEquals(id, algorithm.getId());
+            for (long seed = 0; seed < 150; seed++) {
+                // Gerade Größen wie in MazeGenerator, plus Rand; derselbe Algorithmus für alle, damit Puffer
+                // verschiedener Größen wiederverwendet werden
+                int width = 4 + 2 * (int) (seed % 23), height = 4 + 2 * (int) ((seed * 7) % 37);
+                MazeGrid maze = new MazeGrid(width + 1, height + 1);
+                maze.fill(MazeGenerator.WALL);
+                algorithm.carve(maze, new Random(seed));
+                assertSpanningTree("Algorithmus " + id + ", Seed " + seed + ", " + width + "x" + height, maze);
+            }
+        }
+    }
+
+    private static void assertSpanningTree(String where, MazeGrid maze) {
+        int columns = MazeLattice.columns(maze), rows = MazeLattice.rows(maze);
+        int cells = columns * rows;
+        boolean[] reached = new boolean[cells];
+        int[] queue = new int[cells];
+        int head = 0, tail = 0;
+        queue[tail++] = 0;
+        reached[0] = true;
+        int connections = 0;
+        for (int cellY = 0; cellY < rows; cellY++) {
+            for (int cellX = 0; cellX < columns; cellX++) {
+                assertTrue(where + ": Zelle " + cellX + "," + cellY + " nicht gegraben", !MazeLattice.isWall(maze, cellX, cellY));
+                connections += (cellX + 1 < columns && isOpen(maze, cellX, cellY, 1, 0)) ? 1 : 0;
+                connections += (cellY + 1 < rows && isOpen(maze, cellX, cellY, 0, 1)) ? 1 : 0;
+            }
+        }
+        while (head < tail) {
+            int cell = queue[head++];
+            int cellX = cell % columns, cellY = cell / columns;
+            int[] dx = {1, -1, 0, 0}, dy = {0, 0, 1, -1};
+            for (int direction = 0; direction < 4; direction++) {
+                int nextX = cellX + dx[direction], nextY = cellY + dy[direction];
+                if (nextX < 0 || nextY < 0 || nextX >= columns || nextY >= rows || reached[nextY * columns + nextX]
+                        || !isOpen(maze, cellX, cellY, dx[direction], dy[direction])) {
+                    continue;
+                }
+                reached[nextY * columns + nextX] = true;
+                queue[tail++] = nextY * columns + nextX;
+            }
+        }
+        assertEquals(where + ": erreichte Zellen", cells, tail);
+        assertEquals(where + ": Verbindungen", cells - 1, connections);
+
+        // Außer Zellen und Durchgängen bleibt alles Wand: 4 Pfadzellen pro Gitterzelle und pro Verbindung,
+        // abzüglich der Teile, die über den Rand des Rasters hinausragen
+        int paths = 0;
+        for (int i = 0; i < maze.size(); i++) {
+            paths += maze.get(i) == MazeGenerator.PATH ? 1 : 0;
+        }
+        assertTrue(where + ": zu viele Pfadzellen", paths <= 4 * (cells + connections));
+    }
+
+    // Durchgang zwischen Gitterzelle (cellX, cellY) und ihrem Nachbarn in Richtung (dx, dy)
+    private static boolean isOpen(MazeGrid maze, int cellX, int cellY, int dx, int dy) {
+        return maze.get(1 + 4 * cellX + 2 * dx, 1 + 4 * cellY + 2 * dy) == MazeGenerator.PATH;
+    }
+}
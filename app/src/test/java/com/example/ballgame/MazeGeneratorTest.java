@@ -0,0 +1,114 @@
+package com.example.ballgame;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// Start und Ziel müssen im spielbaren Bereich liegen, den BallPhysics und GameView kennen. Bei ungeradem Score ist
+// die Breite kein Vielfaches von 4, dann bleiben beim Graben Pfadzellen in der Randspalte stehen.
+// Gleiche Parameter müssen dasselbe Labyrinth ergeben, sonst taugt LevelCode nicht zum Teilen eines Levels.
+public class MazeGeneratorTest {
+    @Test
+    public void sameParametersGiveIdenticalMaze() {
+        for (long seed = 0; seed < 100; seed++) {
+            int width = 10 + (int) (seed % 13), height = 14 + (int) ((seed * 5) % 31), holes = (int) (seed % 9);
+            long mazeSeed = seed * 0x9E3779B97F4A7C15L; // Auch große und negative Seeds
+            MazeGenerator first = new MazeGenerator(width, height, holes, mazeSeed);
+            // Dazwischen ein anderes Labyrinth, damit kein gemeinsamer Zustand das Ergebnis erklärt
+            new MazeGenerator(width + 2, height, holes + 1, mazeSeed + 1);
+            MazeGenerator second = new MazeGenerator(width, height, holes, mazeSeed);
+            assertSameLevel("Seed " + mazeSeed, first, second);
+
+            // Neu erzeugt im vorhandenen Objekt, wie nach einem Loch
+            second.generateNewMaze();
+            second.generateNewMaze(mazeSeed);
+            assertSameLevel("Seed " + mazeSeed + " im selben Objekt", first, second);
+        }
+    }
+
+    @Test
+    public void goalAndSpawnInsidePlayableAreaForOddScores() {
+        for (int score = 1; score < 10; score += 2) {
+            for (long seed = 0; seed < 500; seed++) {
+                MazeGenerator level = LevelPipeline.generate(score, seed);
+                MazeGrid maze = level.getMaze();
+                String where = "Score " + score + ", Seed " + seed;
+                assertTrue("Ziel außerhalb: " + where, isPlayable(maze, level.getGoalX(), level.getGoalY()));
+                assertTrue("Start außerhalb: " + where, isPlayable(maze, level.getSpawnX(), level.getSpawnY()));
+                assertTrue("Ziel nicht erreichbar: " + where, level.getGoalDistance() > 0);
+            }
+        }
+    }
+
+    @Test
+    public void indexesMatchGridAfterEachPhase() {
+        for (long seed = 0; seed < 200; seed++) {
+            MazeGenerator generator = LevelPipeline.generate((int) (seed % 6), seed);
+            String where = "Seed " + seed;
+            assertIndexesMatch(where + ", fertig", generator);
+
+            // Phasen einzeln wie in generateNewMaze, Prüfung nach jeder
+            generator.getMaze().fill(MazeGenerator.WALL);
+            generator.carvePaths();
+            generator.addHoles(generator.getHoleCount());
+            assertIndexesMatch(where + ", nach addHoles", generator);
+            generator.setSpawnPoint();
+            assertIndexesMatch(where + ", nach setSpawnPoint", generator);
+            generator.setGoalPoint();
+            assertIndexesMatch(where + ", nach setGoalPoint", generator);
+        }
+    }
+
+    // pathCells enthält genau die Pfadzellen im spielbaren Bereich, holeCandidates genau die davon, die nicht am Rand
+    // und nicht auf oder neben einem Loch liegen
+    private static void assertIndexesMatch(String where, MazeGenerator generator) {
+        MazeGrid maze = generator.getMaze();
+        CellIndex pathCells = generator.getPathCells(), holeCandidates = generator.getHoleCandidates();
+        int paths = 0, candidates = 0;
+        for (int y = 1; y < generator.getHeight(); y++) {
+            for (int x = 1; x < generator.getWidth(); x++) {
+                int cell = maze.index(x, y);
+                boolean path = maze.get(cell) == MazeGenerator.PATH;
+                boolean candidate = path && x <= generator.getWidth() - 2 && y <= generator.getHeight() - 2
+                        && !touchesHole(maze, x, y);
+                assertEquals(where + ": pathCells bei " + x + "," + y, path, pathCells.contains(cell));
+                assertEquals(where + ": holeCandidates bei " + x + "," + y, candidate, holeCandidates.contains(cell));
+                paths += path ? 1 : 0;
+                candidates += candidate ? 1 : 0;
+            }
+        }
+        // Nichts außerhalb des spielbaren Bereichs
+        assertEquals(where, paths, pathCells.size());
+        assertEquals(where, candidates, holeCandidates.size());
+    }
+
+    private static boolean touchesHole(MazeGrid maze, int x, int y) {
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                if (maze.contains(x + dx, y + dy) && maze.get(x + dx, y + dy) == MazeGenerator.HOLE) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static void assertSameLevel(String where, MazeGenerator expected, MazeGenerator actual) {
+        MazeGrid expectedMaze = expected.getMaze(), actualMaze = actual.getMaze();
+        assertEquals(where, expectedMaze.getWidth(), actualMaze.getWidth());
+        assertEquals(where, expectedMaze.getHeight(), actualMaze.getHeight());
+        for (int i = 0; i < expectedMaze.size(); i++) {
+            assertEquals(where + ", Zelle " + i, expectedMaze.get(i), actualMaze.get(i));
+        }
+        assertEquals(where, expected.getSpawnX(), actual.getSpawnX());
+        assertEquals(where, expected.getSpawnY(), actual.getSpawnY());
+        assertEquals(where, expected.getGoalX(), actual.getGoalX());
+        assertEquals(where, expected.getGoalY(), actual.getGoalY());
+    }
+
+    // Wie BallPhysics.isSolid: Randwand, letzte Zeile und Spalte gehören nicht dazu
+    private static boolean isPlayable(MazeGrid maze, int x, int y) {
+        return x >= 1 && x < maze.getWidth() - 1 && y >= 1 && y < maze.getHeight() - 1;
+    }
+}
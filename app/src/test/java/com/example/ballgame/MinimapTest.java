@@ -0,0 +1,106 @@
+package com.example.ballgame;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// Die Karte muss jede Zelle des Labyrinths (ohne letzte Zeile und Spalte) mit der Farbe ihres Kacheltyps zeigen,
+// auch wenn der Puffer von einem größeren Labyrinth wiederverwendet wird, und Positionen im Labyrinth auf genau
+// die Bildschirmfläche der zugehörigen Zelle abbilden.
+public class MinimapTest {
+    private static final float MAX_WIDTH = 300f, MAX_HEIGHT = 200f;
+    private static final int RIGHT = 1000, BOTTOM = 700;
+
+    @Test
+    public void pixelsMatchMazeCells() {
+        Minimap minimap = new Minimap(); // Über alle Level wiederverwendet, wie in GameView
+        // Erst ein großes, dann ein kleines Labyrinth: der Puffer bleibt groß, die Zeilenlänge muss trotzdem stimmen
+        MazeGenerator large = LevelPipeline.generate(20, 42L);
+        MazeGenerator small = LevelPipeline.generate(0, 42L);
+        assertTrue(small.getMaze().getWidth() < large.getMaze().getWidth());
+        assertMinimapShows("groß", minimap, large);
+        assertMinimapShows("klein", minimap, small);
+    }
+
+    @Test
+    public void layoutMapsCellsIntoRect() {
+        Minimap minimap = new Minimap();
+        MazeGenerator level = LevelPipeline.generate(3, 42L);
+        minimap.update(level.getMaze());
+        minimap.layout(MAX_WIDTH, MAX_HEIGHT, RIGHT, BOTTOM);
+        int width = minimap.getWidth(), height = minimap.getHeight();
+
+        // Gleicher Maßstab in beiden Richtungen, eine Seite füllt das Höchstmaß aus
+        float scale = minimap.getScale();
+        assertEquals(Math.min(MAX_WIDTH / width, MAX_HEIGHT / height), scale, 1e-6f);
+        assertEquals(RIGHT, minimap.getRight());
+        assertEquals(BOTTOM, minimap.getBottom());
+        assertEquals(Math.round(width * scale), minimap.getRight() - minimap.getLeft());
+        assertEquals(Math.round(height * scale), minimap.getBottom() - minimap.getTop());
+        assertTrue(minimap.getRight() - minimap.getLeft() <= MAX_WIDTH + 1);
+        assertTrue(minimap.getBottom() - minimap.getTop() <= MAX_HEIGHT + 1);
+
+        // Ecken der Karte und die Mitte jeder Zelle; die Mitte von Start und Ziel muss im Rechteck ihres Pixels liegen
+        assertEquals(minimap.getLeft(), minimap.mapX(0), 1e-3f);
+        assertEquals(minimap.getTop(), minimap.mapY(0), 1e-3f);
+        assertEquals(minimap.getRight(), minimap.mapX(width), 1f);
+        assertEquals(minimap.getBottom(), minimap.mapY(height), 1f);
+        assertCellCenter(minimap, level.getSpawnX(), level.getSpawnY());
+        assertCellCenter(minimap, level.getGoalX(), level.getGoalY());
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                assertCellCenter(minimap, x, y);
+            }
+        }
+    }
+
+    private static void assertMinimapShows(String where, Minimap minimap, MazeGenerator level) {
+        MazeGrid maze = level.getMaze();
+        minimap.update(maze);
+        int width = minimap.getWidth(), height = minimap.getHeight();
+        assertEquals(where + ": Breite", maze.getWidth() - 1, width);
+        assertEquals(where + ": Höhe", maze.getHeight() - 1, height);
+        int[] pixels = minimap.getPixels();
+        assertTrue(where + ": Puffer zu klein", pixels.length >= width * height);
+
+        int walls = 0, holes = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int tile = maze.get(x, y);
+                assertEquals(where + ": Zelle " + x + "," + y, expectedColor(tile), pixels[y * width + x]);
+                walls += tile == MazeGenerator.WALL ? 1 : 0;
+                holes += tile == MazeGenerator.HOLE ? 1 : 0;
+            }
+        }
+        // Das Level muss alle Kacheltypen enthalten, sonst prüft der Vergleich oben nicht jede Farbe
+        assertTrue(where + ": keine Wände", walls > 0);
+        assertTrue(where + ": keine Löcher", holes > 0);
+        assertEquals(where + ": Start", Minimap.SPAWN_COLOR, pixels[level.getSpawnY() * width + level.getSpawnX()]);
+        assertEquals(where + ": Ziel", Minimap.GOAL_COLOR, pixels[level.getGoalY() * width + level.getGoalX()]);
+    }
+
+    // Unabhängig von Minimap.colorOf, damit eine vertauschte Zuordnung auffällt
+    private static int expectedColor(int tile) {
+        switch (tile) {
+            case MazeGenerator.PATH:
+                return Minimap.PATH_COLOR;
+            case MazeGenerator.HOLE:
+                return Minimap.HOLE_COLOR;
+            case MazeGenerator.SPAWN:
+                return Minimap.SPAWN_COLOR;
+            case MazeGenerator.GOAL:
+                return Minimap.GOAL_COLOR;
+            default:
+                return Minimap.WALL_COLOR;
+        }
+    }
+
+    private static void assertCellCenter(Minimap minimap, int x, int y) {
+        float screenX = minimap.mapX(x + 0.5f), screenY = minimap.mapY(y + 0.5f);
+        float scale = minimap.getScale();
+        assertTrue("Zelle " + x + "," + y + " waagerecht", screenX > minimap.getLeft() + x * scale && screenX < minimap.getLeft() + (x + 1) * scale);
+        assertTrue("Zelle " + x + "," + y + " senkrecht", screenY > minimap.getTop() + y * scale && screenY < minimap.getTop() + (y + 1) * scale);
+        assertTrue("Zelle " + x + "," + y + " außerhalb", screenX < minimap.getRight() + 0.5f && screenY < minimap.getBottom() + 0.5f);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.ballgame;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// Aufzeichnung und Wiedergabe: Eine mit SensorTraceWriter aufgezeichnete Sitzung muss mit TraceReplay genau
+// denselben Endzustand ergeben wie das Original.
+public class SensorTraceTest {
+    private static final long FRAME_NANOS = 1_000_000_000L / 60;
+
+    @Test
+    public void replayReproducesRecordedSession() throws IOException {
+        File file = File.createTempFile("sensor_trace", ".bin");
+        file.deleteOnExit();
+
+        // Wie in GameView: Die Aufzeichnung beginnt mitten in der Sitzung mit einem neuen Spiel
+        GameEngine live = new GameEngine(5L);
+        for (int frame = 0; frame < 500; frame++) {
+            live.step(4f, -4f, FRAME_NANOS);
+        }
+        live.restart(77L);
+        SensorTraceWriter writer = new SensorTraceWriter(file, live.getSeed());
+        for (int frame = 0; frame < 20_000; frame++) {
+            // Wechselnde Neigung und unregelmäßige Frames, auch längere als MAX_FRAME_NANOS
+            int direction = (frame / 45) & 3;
+            float tiltX = ((direction & 1) == 0) ? 7.5f : -6f;
+            float tiltY = ((direction & 2) == 0) ? 5f : -8.25f;
+            long frameNanos = (frame % 997 == 0) ? GameEngine.MAX_FRAME_NANOS : FRAME_NANOS + (frame % 7) * 1_000_000L;
+            writer.append(frameNanos, tiltX, tiltY);
+            live.step(tiltX, tiltY, frameNanos);
+        }
+        writer.close();
+
+        try (SensorTraceReader reader = new SensorTraceReader(file)) {
+            assertEquals(77L, reader.getSeed());
+            assertEquals(20_000, reader.size());
+            TraceReplay replay = new TraceReplay(reader);
+            GameEngine replayed = replay.run();
+            assertEquals(live.getScore(), replayed.getScore());
+            assertEquals(live.getLevel().getSeed(), replayed.getLevel().getSeed());
+            assertEquals(live.getTimeLeftNanos(), replayed.getTimeLeftNanos());
+            assertEquals(live.getBallX(), replayed.getBallX(), 0f);
+            assertEquals(live.getBallY(), replayed.getBallY(), 0f);
+            assertTrue("Zeit nie abgelaufen", replay.getGamesOver() > 0);
+        }
+    }
+
+    @Test
+    public void unclosedTraceKeepsCompleteFrames() throws IOException {
+        File file = File.createTempFile("sensor_trace", ".bin");
+        file.deleteOnExit();
+        SensorTraceWriter writer = new SensorTraceWriter(file, 1L);
+        for (int frame = 0; frame < 10; frame++) {
+            writer.append(FRAME_NANOS, frame, -frame);
+        }
+        writer.flush(); // Wie beim Verlassen der App; danach wird der Prozess beendet, ohne close
+
+        // Ein halber Frame am Ende, z.B. weil die Datei mitten im Schreiben abgeschnitten wurde
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.setLength(raw.length() + SensorTraceWriter.RECORD_BYTES / 2);
+        }
+        try (SensorTraceReader reader = new SensorTraceReader(file)) {
+            assertEquals(10, reader.size());
+            assertEquals(FRAME_NANOS, reader.getFrameNanos(9));
+            assertEquals(9f, reader.getTiltX(9), 0f);
+            assertEquals(-9f, reader.getTiltY(9), 0f);
+        }
+        writer.close();
+    }
+}
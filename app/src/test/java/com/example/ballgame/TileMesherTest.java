@@ -0,0 +1,70 @@
+package com.example.ballgame;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// Die Rechtecke müssen den Ausschnitt lückenlos und ohne Überlappung abdecken und jeweils nur Kacheln ihres Typs
+// enthalten; insbesondere decken die WALL-Rechtecke genau die Wandkacheln ab.
+public class TileMesherTest {
+    @Test
+    public void rectanglesCoverEachTileExactlyOnce() {
+        TileMesher mesher = new TileMesher(); // Über alle Level wiederverwendet, wie in GameView
+        for (long seed = 0; seed < 40; seed++) {
+            MazeGenerator level = LevelPipeline.generate((int) (seed % 8), seed);
+            MazeGrid maze = level.getMaze();
+            // Ganzes Labyrinth, dann ein zufälliger Ausschnitt wie im Kameramodus
+            assertExactCover("Seed " + seed + ", ganz", mesher, maze, 0, 0, maze.getWidth(), maze.getHeight());
+            Random random = new Random(seed);
+            int columns = 1 + random.nextInt(maze.getWidth()), rows = 1 + random.nextInt(maze.getHeight());
+            int x0 = random.nextInt(maze.getWidth() - columns + 1), y0 = random.nextInt(maze.getHeight() - rows + 1);
+            assertExactCover("Seed " + seed + ", Ausschnitt", mesher, maze, x0, y0, columns, rows);
+        }
+    }
+
+    @Test
+    public void wallsMergeIntoFewerRectangles() {
+        MazeGrid maze = LevelPipeline.generate(5, 77L).getMaze();
+        TileMesher mesher = new TileMesher();
+        mesher.mesh(maze, 0, 0, maze.getWidth(), maze.getHeight());
+        int walls = 0, wallRects = 0;
+        for (int i = 0; i < maze.size(); i++) {
+            walls += maze.get(i) == MazeGenerator.WALL ? 1 : 0;
+        }
+        for (int i = 0; i < mesher.size(); i++) {
+            wallRects += mesher.getType(i) == MazeGenerator.WALL ? 1 : 0;
+        }
+        assertTrue(wallRects + " Rechtecke für " + walls + " Wandkacheln", wallRects * 4 < walls);
+    }
+
+    private static void assertExactCover(String where, TileMesher mesher, MazeGrid maze, int x0, int y0, int columns, int rows) {
+        mesher.mesh(maze, x0, y0, columns, rows);
+        int[] coverage = new int[columns * rows];
+        int wallCells = 0;
+        for (int i = 0; i < mesher.size(); i++) {
+            int x = mesher.getX(i), y = mesher.getY(i), width = mesher.getWidth(i), height = mesher.getHeight(i);
+            assertTrue(where + ": Rechteck " + i + " leer", width > 0 && height > 0);
+            assertTrue(where + ": Rechteck " + i + " außerhalb",
+                    x >= x0 && y >= y0 && x + width <= x0 + columns && y + height <= y0 + rows);
+            for (int dy = 0; dy < height; dy++) {
+                for (int dx = 0; dx < width; dx++) {
+                    assertEquals(where + ": Rechteck " + i + " mischt Kacheltypen bei " + (x + dx) + "," + (y + dy),
+                            mesher.getType(i), maze.get(x + dx, y + dy));
+                    coverage[(y + dy - y0) * columns + (x + dx - x0)]++;
+                }
+            }
+            wallCells += mesher.getType(i) == MazeGenerator.WALL ? width * height : 0;
+        }
+        int walls = 0;
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < columns; x++) {
+                assertEquals(where + ": Kachel " + (x0 + x) + "," + (y0 + y) + " Abdeckung", 1, coverage[y * columns + x]);
+                walls += maze.get(x0 + x, y0 + y) == MazeGenerator.WALL ? 1 : 0;
+            }
+        }
+        assertEquals(where + ": Wandkacheln", walls, wallCells);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.ballgame;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+// Das Abstandsfeld muss exakt sein (Vergleich mit der Suche über alle Wände) und die schnelle Abfrage darf nie
+// "frei" melden, wenn der Kreis eine Wand berührt.
+public class WallDistanceFieldTest {
+    private static final int S = WallDistanceField.SAMPLES_PER_TILE;
+
+    @Test
+    public void matchesBruteForce() {
+        MazeGenerator generator = new MazeGenerator(16, 24, 5, 11L);
+        MazeGrid maze = generator.getMaze();
+        WallDistanceField field = new WallDistanceField();
+        field.build(maze);
+        for (int y = 0; y < field.getRows(); y++) {
+            for (int x = 0; x < field.getColumns(); x++) {
+                int nearest = Integer.MAX_VALUE;
+                for (int tileY = 0; tileY < maze.getHeight(); tileY++) {
+                    for (int tileX = 0; tileX < maze.getWidth(); tileX++) {
+                        if (!isWall(maze, tileX, tileY)) {
+                            continue;
+                        }
+                        // Nächstes Teilfeld dieser Wandkachel
+                        int dx = x - Math.max(tileX * S, Math.min(x, tileX * S + S - 1));
+                        int dy = y - Math.max(tileY * S, Math.min(y, tileY * S + S - 1));
+                        nearest = Math.min(nearest, dx * dx + dy * dy);
+                    }
+                }
+                assertEquals("Teilfeld " + x + "," + y, Math.min(255, (int) Math.sqrt(nearest)), field.get(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void regionTreatsOutsideAsWall() {
+        MazeGenerator generator = new MazeGenerator(40, 40, 9, 8L);
+        MazeGrid maze = generator.getMaze();
+        WallDistanceField region = new WallDistanceField();
+        region.build(maze, 9, 13, 18, 11);
+        WallDistanceField full = new WallDistanceField();
+        full.build(maze);
+        assertEquals(9 * S, region.getOriginX());
+        assertEquals(13 * S, region.getOriginY());
+        for (int y = 0; y < region.getRows(); y++) {
+            for (int x = 0; x < region.getColumns(); x++) {
+                int value = region.get(x, y);
+                // Nie größer als das ganze Feld und nie größer als der Abstand zum Rand des Bereichs
+                assertTrue("Teilfeld " + x + "," + y, value <= full.get(x + region.getOriginX(), y + region.getOriginY()));
+                assertTrue("Teilfeld " + x + "," + y, value <= Math.min(Math.min(x + 1, region.getColumns() - x), Math.min(y + 1, region.getRows() - y)));
+            }
+        }
+        // Mitten im Bereich stimmen beide Felder überein, sobald der Rand weiter weg ist als die nächste Wand
+        int equal = 0;
+        for (int y = 0; y < region.getRows(); y++) {
+            for (int x = 0; x < region.getColumns(); x++) {
+                equal += (region.get(x, y) == full.get(x + region.getOriginX(), y + region.getOriginY())) ? 1 : 0;
+            }
+        }
+        assertTrue("Bereich weicht überall ab", equal > region.getColumns() * region.getRows() / 2);
+    }
+
+    @Test
+    public void clearanceIsConservative() {
+        MazeGenerator generator = new MazeGenerator(20, 40, 7, 3L);
+        MazeGrid maze = generator.getMaze();
+        WallDistanceField field = new WallDistanceField();
+        field.build(maze);
+        Random random = new Random(5);
+        int clearPoints = 0;
+        for (float radius = 0.1f; radius <= 1.5f; radius += 0.2f) {
+            int clearance = WallDistanceField.clearanceFor(radius);
+            for (int i = 0; i < 100_000; i++) {
+                float x = random.nextFloat() * maze.getWidth();
+                float y = random.nextFloat() * maze.getHeight();
+                if (field.get((int) (x * S), (int) (y * S)) < clearance) {
+                    continue;
+                }
+                clearPoints++;
+                assertFalse("Wand in Reichweite bei " + x + "," + y + " Radius " + radius, touchesWall(maze, x, y, radius));
+            }
+        }
+        assertTrue("Keine freien Punkte gefunden", clearPoints > 0);
+    }
+
+    // Kreis gegen alle Wandkacheln in Reichweite, in Kacheln
+    private static boolean touchesWall(MazeGrid maze, float x, float y, float radius) {
+        for (int tileY = (int) Math.floor(y - radius); tileY <= (int) Math.floor(y + radius); tileY++) {
+            for (int tileX = (int) Math.floor(x - radius); tileX <= (int) Math.floor(x + radius); tileX++) {
+                if (!isWall(maze, tileX, tileY)) {
+                    continue;
+                }
+                float dx = x - Math.max(tileX, Math.min(x, tileX + 1));
+                float dy = y - Math.max(tileY, Math.min(y, tileY + 1));
+                if (dx * dx + dy * dy < radius * radius) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Wie BallPhysics: Randwand, letzte Zeile und Spalte und alles außerhalb sind Wand
+    private static boolean isWall(MazeGrid maze, int tileX, int tileY) {
+        if (tileX < 1 || tileX >= maze.getWidth() - 1 || tileY < 1 || tileY >= maze.getHeight() - 1) {
+            return true;
+        }
+        return maze.get(tileX, tileY) == MazeGenerator.WALL;
+    }
+}
@@ -0,0 +1,53 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+// Die Labyrinth-Logik hat keine Android-Abhängigkeiten. Sie wird direkt aus dem App-Modul kompiliert,
+// damit die Benchmarks auf einer normalen JVM laufen.
+sourceSets {
+    main {
+        java {
+            setSrcDirs(listOf("../app/src/main/java"))
+            include(
+                "com/example/ballgame/BallPhysics.java",
+                "com/example/ballgame/CellIndex.java",
+                "com/example/ballgame/ChunkedMaze.java",
+                "com/example/ballgame/EllerMazeGenerator.java",
+                "com/example/ballgame/FrameStats.java",
+                "com/example/ballgame/GameEngine.java",
+                "com/example/ballgame/KruskalAlgorithm.java",
+                "com/example/ballgame/LevelCode.java",
+                "com/example/ballgame/LevelPipeline.java",
+                "com/example/ballgame/MazeAlgorithm.java",
+                "com/example/ballgame/MazeGenerator.java",
+                "com/example/ballgame/MazeGrid.java",
+                "com/example/ballgame/MazeLattice.java",
+                "com/example/ballgame/PrimAlgorithm.java",
+                "com/example/ballgame/RecursiveBacktracker.java",
+                "com/example/ballgame/SensorTraceReader.java",
+                "com/example/ballgame/SensorTraceWriter.java",
+                "com/example/ballgame/TileMesher.java",
+                "com/example/ballgame/TraceReplay.java",
+                "com/example/ballgame/WallDistanceField.java",
+                "com/example/ballgame/WilsonAlgorithm.java"
+            )
+        }
+    }
+}
+
+// Ausführen mit: ./gradlew :benchmark:jmh
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    benchmarkMode.set(listOf("thrpt", "avgt"))
+    timeUnit.set("ms")
+    profilers.set(listOf("gc")) // Allokationsrate (gc.alloc.rate.norm) pro Operation
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+}
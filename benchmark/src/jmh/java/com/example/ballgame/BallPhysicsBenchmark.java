@@ -0,0 +1,52 @@
+package com.example.ballgame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Kosten eines Physikschritts (SUBSTEPS Teilschritte samt Kollisionen) bei voller Neigung in wechselnde Richtungen.
+// Muss weit unter 1/240 s bleiben, damit die Physik auch auf langsamen Geräten mit 240 Hz laufen kann.
+// Dazu der Aufbau des Abstandsfelds (WallDistanceField), der bei jedem neuen Labyrinth und nach jedem Loch anfällt.
+@State(Scope.Thread)
+public class BallPhysicsBenchmark {
+    private static final int TILE_SIZE = 48;
+    private static final float STEP_SECONDS = 1f / 120;
+
+    @Param({"0", "50", "200"})
+    public int score;
+
+    private MazeGenerator mazeGenerator;
+    private BallPhysics ball;
+    private final WallDistanceField distanceField = new WallDistanceField();
+    private int frame;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mazeGenerator = new MazeGenerator(LevelPipeline.mazeWidth(score), LevelPipeline.mazeHeight(score),
+                LevelPipeline.holeCount(score), 42L);
+        ball = new BallPhysics(mazeGenerator.getMaze(), TILE_SIZE);
+        ball.reset(mazeGenerator.getSpawnX(), mazeGenerator.getSpawnY());
+    }
+
+    @Benchmark
+    public int step() {
+        // Alle halbe Sekunde eine andere Diagonale, damit der Ball ständig an Wänden entlanggleitet
+        int direction = (frame++ / 60) & 3;
+        float tiltX = ((direction & 1) == 0) ? 9.8f : -9.8f;
+        float tiltY = ((direction & 2) == 0) ? 9.8f : -9.8f;
+        int event = ball.step(tiltX, tiltY, STEP_SECONDS);
+        if (event != BallPhysics.NONE) {
+            ball.reset(mazeGenerator.getSpawnX(), mazeGenerator.getSpawnY());
+        }
+        return event;
+    }
+
+    @Benchmark
+    public int buildDistanceField() {
+        distanceField.build(mazeGenerator.getMaze());
+        return distanceField.get(0);
+    }
+}
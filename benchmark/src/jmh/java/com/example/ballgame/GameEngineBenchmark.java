@@ -0,0 +1,46 @@
+package com.example.ballgame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Die GameEngine ohne Android: ein Frame bei 60 Hz (zwei Physikschritte samt Zeit und Ereignissen) und ein ganzes
+// Spiel von 60 Sekunden simulierter Zeit, einschließlich der Erzeugung der Labyrinthe.
+@State(Scope.Thread)
+public class GameEngineBenchmark {
+    private static final long FRAME_NANOS = 1_000_000_000L / 60;
+
+    private GameEngine engine;
+    private int frame;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        engine = new GameEngine(42L);
+    }
+
+    @Benchmark
+    public int frame() {
+        return step(engine, frame++);
+    }
+
+    @Benchmark
+    public int game() {
+        GameEngine game = new GameEngine(seed++);
+        int frames = 0;
+        while ((step(game, frames++) & GameEngine.GAME_OVER) == 0) {
+            // Bis die Zeit abgelaufen ist
+        }
+        return game.getScore() + frames;
+    }
+
+    // Alle halbe Sekunde eine andere Diagonale, damit der Ball ständig an Wänden entlanggleitet
+    private static int step(GameEngine engine, int frame) {
+        int direction = (frame / 30) & 3;
+        float tiltX = ((direction & 1) == 0) ? 9.8f : -9.8f;
+        float tiltY = ((direction & 2) == 0) ? 9.8f : -9.8f;
+        return engine.step(tiltX, tiltY, FRAME_NANOS);
+    }
+}
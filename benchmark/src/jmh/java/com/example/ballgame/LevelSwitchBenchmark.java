@@ -0,0 +1,42 @@
+package com.example.ballgame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Der JVM-Anteil eines Levelwechsels, nachdem das Labyrinth vorab erzeugt wurde. replaceView entspricht dem alten
+// Weg, auf dem für jedes Level eine neue GameView mit neuer Physik und neuen Frame-Statistiken entstand; applyLevel
+// dem heutigen GameView.applyLevel, das die vorhandenen Objekte und Puffer weiterverwendet. Surface, Layout und
+// Sprites lassen sich ohne Android nicht messen und fehlen in beiden Fällen.
+@State(Scope.Thread)
+public class LevelSwitchBenchmark {
+    @Param({"0", "10", "25", "50", "100"})
+    public int score;
+
+    private MazeGenerator level;
+    private BallPhysics ball;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        level = LevelPipeline.generate(score, 42L);
+        ball = new BallPhysics(level.getMaze(), GameEngine.TILE_SIZE);
+    }
+
+    @Benchmark
+    public Object replaceView() {
+        BallPhysics fresh = new BallPhysics(level.getMaze(), GameEngine.TILE_SIZE);
+        fresh.reset(level.getSpawnX(), level.getSpawnY());
+        FrameStats stats = new FrameStats();
+        return stats.getFrameCount() == 0 ? fresh : stats;
+    }
+
+    @Benchmark
+    public BallPhysics applyLevel() {
+        ball.setMaze(level.getMaze(), GameEngine.TILE_SIZE);
+        ball.reset(level.getSpawnX(), level.getSpawnY());
+        return ball;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.ballgame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+// Vergleicht die Algorithmen aus MazeAlgorithm beim Graben der Pfade, über dieselben Levelgrößen wie im Spiel.
+// Wie in MazeGeneratorBenchmark setzt der Benchmark das Raster selbst zurück (kein @Setup(Level.Invocation) bei
+// Laufzeiten im Mikrosekundenbereich); resetGrid misst diesen Anteil allein.
+@State(Scope.Thread)
+public class MazeAlgorithmBenchmark {
+    @Param({"backtracker", "kruskal", "prim", "wilson"})
+    public String algorithm;
+
+    @Param({"0", "10", "25", "50", "100", "150", "200"})
+    public int score;
+
+    private MazeAlgorithm mazeAlgorithm;
+    private MazeGrid maze;
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mazeAlgorithm = MazeAlgorithm.create(id(algorithm));
+        // Gleiche Rastergröße wie in MazeGenerator (gerade Breite/Höhe plus Rand)
+        int width = LevelPipeline.mazeWidth(score);
+        int height = LevelPipeline.mazeHeight(score);
+        maze = new MazeGrid(width + width % 2 + 1, height + height % 2 + 1);
+    }
+
+    @Benchmark
+    public MazeGrid resetGrid() {
+        maze.fill(MazeGenerator.WALL);
+        return maze;
+    }
+
+    @Benchmark
+    public MazeGrid carve() {
+        maze.fill(MazeGenerator.WALL);
+        mazeAlgorithm.carve(maze, random);
+        return maze;
+    }
+
+    private static int id(String name) {
+        switch (name) {
+            case "backtracker":
+                return MazeAlgorithm.RECURSIVE_BACKTRACKER;
+            case "kruskal":
+                return MazeAlgorithm.KRUSKAL;
+            case "prim":
+                return MazeAlgorithm.PRIM;
+            case "wilson":
+                return MazeAlgorithm.WILSON;
+            default:
+                throw new IllegalArgumentException("Unbekannter Algorithmus: " + name);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.ballgame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Misst die Labyrinth-Erzeugung und ihre einzelnen Phasen über den Score-Bereich 0 bis 200.
+// Die Größen kommen aus derselben Formel wie im Spiel (LevelPipeline.mazeWidth/mazeHeight/holeCount).
+public class MazeGeneratorBenchmark {
+
+    @State(Scope.Thread)
+    public static class LevelState {
+        @Param({"0", "10", "25", "50", "100", "150", "200"})
+        public int score;
+
+        public MazeGenerator generator;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            generator = LevelPipeline.generate(score);
+        }
+    }
+
+    // Zustand für die Phasen-Benchmarks: Zwischenstände des Rasters nach jeder Phase.
+    // Die Phasen dauern bei kleinen Levels nur Mikrosekunden; ein @Setup(Level.Invocation) würde pro Aufruf
+    // Zeitstempel und Setup-Aufruf kosten und das Ergebnis verfälschen. Daher setzt jeder Benchmark das Raster
+    // selbst auf den Stand vor seiner Phase zurück (ein arraycopy), resetGrid misst diesen Anteil allein.
+    @State(Scope.Thread)
+    public static class PhaseState {
+        @Param({"0", "10", "25", "50", "100", "150", "200"})
+        public int score;
+
+        public MazeGenerator generator;
+        MazeGrid walls, carved, withHoles, withSpawn;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            generator = LevelPipeline.generate(score);
+            MazeGrid maze = generator.getMaze();
+
+            walls = new MazeGrid(maze.getWidth(), maze.getHeight());
+            walls.fill(MazeGenerator.WALL);
+
+            maze.copyFrom(walls);
+            generator.carvePaths();
+            carved = snapshot(maze);
+
+            generator.addHoles(generator.getHoleCount());
+            withHoles = snapshot(maze);
+
+            generator.setSpawnPoint();
+            withSpawn = snapshot(maze);
+        }
+
+        private static MazeGrid snapshot(MazeGrid maze) {
+            MazeGrid copy = new MazeGrid(maze.getWidth(), maze.getHeight());
+            copy.copyFrom(maze);
+            return copy;
+        }
+    }
+
+    // Komplette Neuerzeugung im bestehenden Objekt, wie nach einem Loch
+    @Benchmark
+    public MazeGrid generateNewMaze(LevelState state) {
+        state.generator.generateNewMaze();
+        return state.generator.getMaze();
+    }
+
+    // Neues Objekt pro Level, wie beim Levelwechsel in GameActivity (inklusive Allokation des Rasters)
+    @Benchmark
+    public MazeGenerator createLevel(LevelState state) {
+        return LevelPipeline.generate(state.score);
+    }
+
+    // Nur das Zurücksetzen des Rasters, wie es jeder Phasen-Benchmark vor seiner Phase ausführt
+    @Benchmark
+    public MazeGrid resetGrid(PhaseState state) {
+        state.generator.getMaze().copyFrom(state.carved);
+        return state.generator.getMaze();
+    }
+
+    @Benchmark
+    public MazeGrid carve(PhaseState state) {
+        state.generator.getMaze().copyFrom(state.walls);
+        state.generator.carvePaths();
+        return state.generator.getMaze();
+    }
+
+    @Benchmark
+    public MazeGrid addHoles(PhaseState state) {
+        state.generator.getMaze().copyFrom(state.carved);
+        state.generator.addHoles(state.generator.getHoleCount());
+        return state.generator.getMaze();
+    }
+
+    @Benchmark
+    public int setSpawnPoint(PhaseState state) {
+        state.generator.getMaze().copyFrom(state.withHoles);
+        state.generator.setSpawnPoint();
+        return state.generator.getSpawnX();
+    }
+
+    @Benchmark
+    public int setGoalPoint(PhaseState state) {
+        state.generator.getMaze().copyFrom(state.withSpawn);
+        state.generator.setGoalPoint();
+        return state.generator.getGoalX();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.ballgame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Kosten des Greedy Meshings, das GameView vor jedem Neuzeichnen der Labyrinth-Ebene ausführt:
+// einmal für das ganze Labyrinth und einmal für einen bildschirmgroßen Ausschnitt wie im Kameramodus.
+@State(Scope.Thread)
+public class TileMesherBenchmark {
+    // Etwa ein Bildschirm mit Kacheln in Mindestgröße plus Rand (siehe GameView.renderMazeLayer)
+    private static final int WINDOW_COLUMNS = 26, WINDOW_ROWS = 46;
+
+    @Param({"0", "10", "25", "50", "100", "150", "200"})
+    public int score;
+
+    private final TileMesher mesher = new TileMesher();
+    private MazeGrid maze;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        maze = new MazeGenerator(LevelPipeline.mazeWidth(score), LevelPipeline.mazeHeight(score),
+                LevelPipeline.holeCount(score), 42L).getMaze();
+    }
+
+    @Benchmark
+    public int meshFullMaze() {
+        mesher.mesh(maze, 0, 0, maze.getWidth() - 1, maze.getHeight() - 1);
+        return mesher.size();
+    }
+
+    @Benchmark
+    public int meshScreenWindow() {
+        int columns = Math.min(WINDOW_COLUMNS, maze.getWidth() - 1);
+        int rows = Math.min(WINDOW_ROWS, maze.getHeight() - 1);
+        mesher.mesh(maze, (maze.getWidth() - 1 - columns) / 2, (maze.getHeight() - 1 - rows) / 2, columns, rows);
+        return mesher.size();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.ballgame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+
+// Wiedergabe einer aufgezeichneten Sitzung (SensorTraceWriter) mit TraceReplay. Ohne Parameter wird eine
+// synthetische Sitzung von fünf Minuten aufgezeichnet; eine echte Aufzeichnung vom Gerät (sensor_trace.bin aus
+// dem App-Verzeichnis) lässt sich über den JMH-Parameter "trace" angeben, z.B.
+//   java -jar benchmark/build/libs/benchmark-jmh.jar TraceReplayBenchmark -p trace=/pfad/sensor_trace.bin
+@State(Scope.Benchmark)
+public class TraceReplayBenchmark {
+    private static final long FRAME_NANOS = 1_000_000_000L / 60;
+    private static final int SYNTHETIC_FRAMES = 5 * 60 * 60;
+
+    @Param({""})
+    public String trace;
+
+    private File file;
+    private boolean temporary;
+    private SensorTraceReader reader;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        if (trace.isEmpty()) {
+            file = File.createTempFile("sensor_trace", ".bin");
+            temporary = true;
+            try (SensorTraceWriter writer = new SensorTraceWriter(file, 42L)) {
+                for (int frame = 0; frame < SYNTHETIC_FRAMES; frame++) {
+                    int direction = (frame / 30) & 3;
+                    writer.append(FRAME_NANOS, ((direction & 1) == 0) ? 9.8f : -9.8f, ((direction & 2) == 0) ? 9.8f : -9.8f);
+                }
+            }
+        } else {
+            file = new File(trace);
+        }
+        reader = new SensorTraceReader(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        reader.close();
+        if (temporary) {
+            file.delete();
+        }
+    }
+
+    @Benchmark
+    public int replay() {
+        return new TraceReplay(reader).run().getScore();
+    }
+}